@@ -0,0 +1,11 @@
+-- Contract step of the client_secret -> client_secret_bin move. Run by hand, once every node runs a
+-- version that reads client_secret_bin and SecretBinaryMigration has reported all rows converted.
+-- Rolling back past that version is no longer possible afterwards.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM credential WHERE client_secret_bin IS NULL) THEN
+        RAISE EXCEPTION 'credential rows without client_secret_bin remain, run SecretBinaryMigration first';
+    END IF;
+END $$;
+
+ALTER TABLE credential DROP COLUMN IF EXISTS client_secret;
@@ -6,7 +6,9 @@ import com.credentials.entity.User;
 import com.credentials.repo.CredentialRepository;
 import com.credentials.repo.OrganizationRepository;
 import com.credentials.repo.UserRepository;
-import com.credentials.security.EncryptionUtils;
+import com.credentials.security.EncryptedSecret;
+import com.credentials.security.SecretHasher;
+import com.credentials.util.MaskingUtil;
 import com.credentials.util.RandomUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +29,7 @@ public class DataInitializer implements CommandLineRunner {
     private final OrganizationRepository orgRepo;
     private final UserRepository userRepo;
     private final CredentialRepository credRepo;
+    private final SecretHasher secretHasher;
 
     @Override
     public void run(String... args) {
@@ -94,7 +97,9 @@ public class DataInitializer implements CommandLineRunner {
         String randomSuffix = RandomUtil.generateRandomSuffix(6);
         credential.setName(clientId + "-" + randomSuffix);
         credential.setClientId(clientId);
-        credential.setClientSecret(EncryptionUtils.encrypt(clientSecret)); // Encrypt secret
+        credential.setClientSecret(EncryptedSecret.encrypt(clientSecret)); // Encrypt secret
+        credential.setClientSecretHint(MaskingUtil.mask(clientSecret));
+        credential.setClientSecretHash(secretHasher.hash(clientSecret));
         credential.setOrganization(org);
         credential.setCreatedBy(createdBy);
         credential.setCreationDate(OffsetDateTime.now());
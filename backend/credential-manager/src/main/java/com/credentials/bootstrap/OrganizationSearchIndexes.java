@@ -0,0 +1,43 @@
+package com.credentials.bootstrap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the pg_trgm GIN indexes behind organization search. Hibernate cannot express operator
+ * class indexes, so they are created here; without the extension search still works, by scanning.
+ */
+@Component
+@Slf4j
+@Order(3)
+@ConditionalOnProperty(name = "app.organization-search-indexes.enabled", havingValue = "true", matchIfMissing = true)
+public class OrganizationSearchIndexes implements CommandLineRunner {
+
+    private static final List<String> INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_organization_name_trgm ON organization USING gin (lower(name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_organization_vat_trgm ON organization USING gin (lower(vat_number) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_organization_sap_trgm ON organization USING gin (lower(sap_id) gin_trgm_ops)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrganizationSearchIndexes(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            INDEXES.forEach(jdbcTemplate::execute);
+        } catch (DataAccessException e) {
+            log.warn("Organization search indexes not created, search will scan the table: {}", e.getMessage());
+        }
+    }
+}
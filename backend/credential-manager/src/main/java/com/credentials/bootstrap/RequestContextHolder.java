@@ -3,11 +3,25 @@ package com.credentials.bootstrap;
 import com.credentials.dto.RequestUserContext;
 import lombok.experimental.UtilityClass;
 
+/**
+ * Current request's user context. Requests bind it with {@link #bind} for the extent of a block,
+ * the way a {@code ScopedValue} is bound, and the previous binding is restored when the block ends,
+ * so nothing outlives the request whether it runs on a pooled or on a virtual thread.
+ */
 @UtilityClass
 public class RequestContextHolder {
 
     private static final ThreadLocal<RequestUserContext> holder = new ThreadLocal<>();
 
+    /**
+     * Binds {@code context} to the current thread until the returned binding is closed.
+     */
+    public static Binding bind(RequestUserContext context) {
+        Binding binding = new Binding(holder.get());
+        holder.set(context);
+        return binding;
+    }
+
     public static void set(RequestUserContext context) {
         holder.set(context);
     }
@@ -19,4 +33,22 @@ public class RequestContextHolder {
     public static void clear() {
         holder.remove();
     }
+
+    public static final class Binding implements AutoCloseable {
+
+        private final RequestUserContext previous;
+
+        private Binding(RequestUserContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                holder.remove();
+            } else {
+                holder.set(previous);
+            }
+        }
+    }
 }
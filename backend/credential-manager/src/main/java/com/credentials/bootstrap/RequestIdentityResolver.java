@@ -0,0 +1,58 @@
+package com.credentials.bootstrap;
+
+import com.credentials.dto.RequestIdentity;
+import com.credentials.dto.RequestUserContext;
+import com.credentials.exception.CredentialProcessingException;
+import com.credentials.security.MembershipTokenService;
+import com.credentials.service.impl.MembershipCache;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves the caller's identity at most once per request and keeps it on the {@link RequestUserContext},
+ * so the interceptor, controllers and services share one membership lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestIdentityResolver {
+
+    private final MembershipCache membershipCache;
+    private final MembershipTokenService tokenService;
+
+    public RequestIdentity resolve() {
+        RequestUserContext context = requireContext();
+        if (context.getIdentity() == null) {
+            context.setIdentity(toIdentity(membershipCache.get(context.getSubjectId()), context));
+        }
+        return context.getIdentity();
+    }
+
+    /**
+     * Resolves the identity from a membership token instead, leaving it unresolved when the token is rejected.
+     */
+    public Optional<RequestIdentity> resolveFromToken(String token) {
+        RequestUserContext context = requireContext();
+        Optional<RequestIdentity> identity = tokenService.verify(token, context.getSubjectId())
+                .map(membership -> toIdentity(membership, context));
+        identity.ifPresent(context::setIdentity);
+        return identity;
+    }
+
+    private static RequestUserContext requireContext() {
+        RequestUserContext context = RequestContextHolder.get();
+        if (context == null) {
+            throw new CredentialProcessingException(" Operation not allowed Please login ");
+        }
+        return context;
+    }
+
+    private static RequestIdentity toIdentity(MembershipCache.Membership membership, RequestUserContext context) {
+        UUID organizationId = StringUtils.isBlank(context.getSelectedOrgId())
+                ? null : UUID.fromString(context.getSelectedOrgId());
+        return new RequestIdentity(membership.userId(), membership.email(), organizationId, membership.organizationIds());
+    }
+}
@@ -0,0 +1,105 @@
+package com.credentials.bootstrap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Moves secrets from the legacy Base64 {@code client_secret} text column to the {@code client_secret_bin}
+ * bytea column.
+ * <p>
+ * Expand, on every startup: the legacy column stops being required, since this version only writes the
+ * binary one. Convert, opt-in once every node runs this version: secrets are copied over one bounded
+ * batch per transaction, and the binary column is made {@code NOT NULL} once every row has one. The
+ * legacy column is left in place so a rollback still finds its secrets;
+ * {@code db/drop-legacy-client-secret.sql} removes it and is run by hand after the conversion has been verified.
+ */
+@Component
+@Slf4j
+@Order(1)
+public class SecretBinaryMigration implements CommandLineRunner {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean convert;
+    private final int batchSize;
+
+    public SecretBinaryMigration(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.secret-binary-migration.enabled:false}") boolean convert,
+                                 @Value("${app.secret-binary-migration.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.convert = convert;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        List<String> legacyNullable = jdbcTemplate.queryForList(
+                "SELECT is_nullable FROM information_schema.columns " +
+                        "WHERE table_name = 'credential' AND column_name = 'client_secret'", String.class);
+        if (legacyNullable.isEmpty()) {
+            return;
+        }
+        if (legacyNullable.contains("NO")) {
+            // Rows written by this version no longer carry the legacy secret
+            jdbcTemplate.execute("ALTER TABLE credential ALTER COLUMN client_secret DROP NOT NULL");
+        }
+        if (!convert) {
+            return;
+        }
+
+        UUID lastId = MIN_UUID;
+        long converted = 0;
+        List<Map<String, Object>> batch;
+        do {
+            UUID afterId = lastId;
+            batch = jdbcTemplate.queryForList(
+                    "SELECT id, client_secret FROM credential " +
+                            "WHERE client_secret_bin IS NULL AND client_secret IS NOT NULL AND id > ? ORDER BY id LIMIT ?",
+                    afterId, batchSize);
+            if (!batch.isEmpty()) {
+                List<Map<String, Object>> rows = batch;
+                converted += transactionTemplate.execute(status -> convertBatch(rows));
+                lastId = (UUID) batch.get(batch.size() - 1).get("id");
+            }
+        } while (batch.size() == batchSize);
+
+        Integer remaining = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM credential WHERE client_secret_bin IS NULL", Integer.class);
+        if (remaining != null && remaining == 0) {
+            jdbcTemplate.execute("ALTER TABLE credential ALTER COLUMN client_secret_bin SET NOT NULL");
+            log.info("Secret binary migration converted {} credentials, the legacy column can now be dropped", converted);
+        } else {
+            log.warn("Secret binary migration converted {} credentials, {} have no binary secret yet", converted, remaining);
+        }
+    }
+
+    private int convertBatch(List<Map<String, Object>> rows) {
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            try {
+                byte[] secret = Base64.getDecoder().decode((String) row.get("client_secret"));
+                updates.add(new Object[]{secret, row.get("id")});
+            } catch (IllegalArgumentException e) {
+                log.warn("Credential {} has a secret that is not valid Base64, leaving it unconverted", row.get("id"));
+            }
+        }
+        jdbcTemplate.batchUpdate("UPDATE credential SET client_secret_bin = ? WHERE id = ?", updates);
+        return updates.size();
+    }
+}
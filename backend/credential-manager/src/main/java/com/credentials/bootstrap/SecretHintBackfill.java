@@ -0,0 +1,83 @@
+package com.credentials.bootstrap;
+
+import com.credentials.repo.CredentialRepository;
+import com.credentials.repo.CredentialSecretView;
+import com.credentials.security.SecretHasher;
+import com.credentials.util.MaskingUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills in the masked secret hint and verification hash for credentials created
+ * before those columns existed. Rows are walked in id order, one batch per transaction.
+ */
+@Component
+@Slf4j
+@Order(2)
+@ConditionalOnProperty(name = "app.secret-hint-backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class SecretHintBackfill implements CommandLineRunner {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final CredentialRepository credentialRepo;
+    private final SecretHasher secretHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public SecretHintBackfill(CredentialRepository credentialRepo,
+                              SecretHasher secretHasher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.secret-hint-backfill.batch-size:500}") int batchSize) {
+        this.credentialRepo = credentialRepo;
+        this.secretHasher = secretHasher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        UUID lastId = MIN_UUID;
+        long updated = 0;
+        List<CredentialSecretView> batch;
+        do {
+            UUID afterId = lastId;
+            batch = transactionTemplate.execute(status -> backfillBatch(afterId));
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+                updated += batch.size();
+            }
+        } while (batch.size() == batchSize);
+        if (updated > 0) {
+            log.info("Secret hint and hash backfill completed for {} credentials", updated);
+        }
+    }
+
+    private List<CredentialSecretView> backfillBatch(UUID afterId) {
+        List<CredentialSecretView> batch = credentialRepo.findMissingSecretDigests(afterId, PageRequest.of(0, batchSize));
+        for (CredentialSecretView row : batch) {
+            String secret = decryptOrNull(row);
+            credentialRepo.updateSecretDigests(row.getId(), MaskingUtil.mask(secret),
+                    secret == null ? null : secretHasher.hash(secret));
+        }
+        return batch;
+    }
+
+    private String decryptOrNull(CredentialSecretView row) {
+        try {
+            return row.getClientSecret().decrypt();
+        } catch (RuntimeException e) {
+            log.warn("Could not decrypt secret of credential {}, storing a fully masked hint", row.getId());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.credentials.config;
+
+import com.credentials.scheduler.ExpiryNotificationSink;
+import com.credentials.scheduler.LoggingExpiryNotificationSink;
+import com.credentials.scheduler.WebhookExpiryNotificationSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Selects where expiry notifications go: a webhook when one is configured, otherwise the application log.
+ */
+@Configuration
+public class ExpiryNotificationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.expiry-notification.webhook-url")
+    public ExpiryNotificationSink webhookExpiryNotificationSink(RestClient.Builder builder,
+                                                                @Value("${app.expiry-notification.webhook-url}") String url) {
+        return new WebhookExpiryNotificationSink(builder, url);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ExpiryNotificationSink.class)
+    public ExpiryNotificationSink loggingExpiryNotificationSink() {
+        return new LoggingExpiryNotificationSink();
+    }
+}
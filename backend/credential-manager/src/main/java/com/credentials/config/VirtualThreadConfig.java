@@ -0,0 +1,47 @@
+package com.credentials.config;
+
+import com.credentials.filter.RequestAdmissionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Limits that the worker pool provides when requests run on platform threads. With virtual threads
+ * every accepted connection is processed at once, so the heap is bounded by capping connections
+ * (Tomcat buffers per connection) and API requests in progress (session and stack per request).
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadConnectionLimit(
+            @Value("${app.virtual-threads.max-connections:400}") int maxConnections) {
+        // Connections beyond it wait in the accept backlog, which costs no heap
+        return factory -> factory.addConnectorCustomizers(connector ->
+                ((AbstractProtocol<?>) connector.getProtocolHandler()).setMaxConnections(maxConnections));
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestAdmissionFilter> requestAdmissionFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.max-concurrent-requests:100}") int maxConcurrentRequests,
+            @Value("${app.virtual-threads.admission-timeout:PT5S}") Duration admissionTimeout) {
+        FilterRegistrationBean<RequestAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new RequestAdmissionFilter(meterRegistry, maxConcurrentRequests, admissionTimeout));
+        // Health and metrics keep answering while the API is saturated
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -22,6 +22,8 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .excludePathPatterns(
                         "/api/v1/users/login",      // Exclude login endpoint
                         "/api/v1/users", // Exclude users listing
+                        "/api/v1/organizations/**", // Public catalog and search, needed before a user has memberships
+                        "/api/v1/credentials/verify", // Machine-to-machine, no user context
                         "/swagger-ui/**",           // Exclude Swagger
                         "/v3/api-docs/**"           // Exclude OpenAPI docs
                 );
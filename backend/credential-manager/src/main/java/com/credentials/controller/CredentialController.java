@@ -1,9 +1,13 @@
 package com.credentials.controller;
 
+import com.credentials.dto.BulkCredentialRequest;
+import com.credentials.dto.CredentialPage;
 import com.credentials.dto.CredentialRequest;
 import com.credentials.dto.CredentialResponse;
 import com.credentials.service.CredentialService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,9 +15,13 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -21,16 +29,37 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CredentialController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final CredentialService service;
 
+    @GetMapping
+    public CredentialPage list(@RequestParam(required = false) String cursor,
+                               @RequestParam(defaultValue = "50") int size) {
+        return service.listForSelectedOrganization(cursor, size);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"credentials.ndjson\"")
+                .body(service.exportForSelectedOrganization());
+    }
+
     @GetMapping("/{id}")
-    public CredentialResponse getById(@PathVariable UUID id) {
-        return service.getById(id);
+    public ResponseEntity<CredentialResponse> getById(@PathVariable UUID id) {
+        return withVersionTag(service.getById(id));
     }
 
     @PostMapping
-    public CredentialResponse create(@RequestBody CredentialRequest request) {
-        return service.create(request);
+    public CredentialResponse create(@RequestBody CredentialRequest request,
+                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return service.create(request, idempotencyKey);
+    }
+
+    @PostMapping("/bulk")
+    public List<CredentialResponse> createAll(@Valid @RequestBody BulkCredentialRequest request) {
+        return service.createAll(request.credentials());
     }
 
     @DeleteMapping("/{id}")
@@ -40,7 +69,24 @@ public class CredentialController {
     }
 
     @PatchMapping("/{id}/reset-secret")
-    public CredentialResponse resetSecret(@PathVariable UUID id) {
-        return service.resetSecret(id);
+    public ResponseEntity<CredentialResponse> resetSecret(@PathVariable UUID id,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withVersionTag(service.resetSecret(id, parseVersionTag(ifMatch)));
+    }
+
+    private static ResponseEntity<CredentialResponse> withVersionTag(CredentialResponse response) {
+        return ResponseEntity.ok().eTag(String.valueOf(response.version())).body(response);
+    }
+
+    private static Long parseVersionTag(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.startsWith("W/") ? ifMatch.substring(2) : ifMatch;
+        try {
+            return Long.parseLong(tag.replace("\"", "").trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must carry the credential version returned as ETag");
+        }
     }
 }
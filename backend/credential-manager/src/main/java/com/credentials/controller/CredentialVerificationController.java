@@ -0,0 +1,24 @@
+package com.credentials.controller;
+
+import com.credentials.dto.CredentialVerificationRequest;
+import com.credentials.dto.CredentialVerificationResponse;
+import com.credentials.service.CredentialVerificationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("api/v1/credentials/verify")
+@RequiredArgsConstructor
+public class CredentialVerificationController {
+
+    private final CredentialVerificationService verificationService;
+
+    @PostMapping
+    public CredentialVerificationResponse verify(@Valid @RequestBody CredentialVerificationRequest request) {
+        return verificationService.verify(request);
+    }
+}
@@ -0,0 +1,41 @@
+package com.credentials.controller;
+
+import com.credentials.dto.OrganizationPage;
+import com.credentials.service.OrganizationService;
+import com.credentials.service.impl.OrganizationCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("api/v1/organizations")
+@RequiredArgsConstructor
+public class OrganizationController {
+
+    private final OrganizationCatalog catalog;
+    private final OrganizationService organizationService;
+
+    @GetMapping
+    public ResponseEntity<byte[]> catalog(WebRequest request) {
+        OrganizationCatalog.Snapshot snapshot = catalog.snapshot();
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Catalog-Version", String.valueOf(snapshot.version()))
+                .body(snapshot.json());
+    }
+
+    @GetMapping("/search")
+    public OrganizationPage search(@RequestParam(required = false) String q,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "20") int size) {
+        return organizationService.search(q, cursor, size);
+    }
+}
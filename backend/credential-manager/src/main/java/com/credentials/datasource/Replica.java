@@ -0,0 +1,47 @@
+package com.credentials.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * A read replica and what the {@link ReplicaLagMonitor} last learned about it. Replicas start out
+ * ineligible, until their lag has been measured once.
+ */
+public final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean eligible;
+    private volatile double lagSeconds = Double.NaN;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public boolean isEligible() {
+        return eligible;
+    }
+
+    // NaN while unreachable or not yet measured
+    public double lagSeconds() {
+        return lagSeconds;
+    }
+
+    void markLag(double lagSeconds, boolean withinBound) {
+        this.lagSeconds = lagSeconds;
+        this.eligible = withinBound;
+    }
+
+    void markUnavailable() {
+        this.lagSeconds = Double.NaN;
+        this.eligible = false;
+    }
+}
@@ -0,0 +1,108 @@
+package com.credentials.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Measures replica lag with a heartbeat row: every check stamps it on the primary and reads it back
+ * from each replica, and the difference is how far the replica trails. Everything the primary
+ * committed before the stamp a replica shows is visible there, and an idle primary still advances.
+ * <p>
+ * Replicas serve reads while their lag is within the bound, so a read may be at most
+ * {@code max-lag} plus one check interval behind the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String TABLE = "replication_heartbeat";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+
+    public ReplicaLagMonitor(DataSource primary, List<Replica> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        for (Replica replica : replicas) {
+            Gauge.builder("credentials.replica.lag", replica, Replica::lagSeconds)
+                    .tag("replica", replica.name())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    // Replicas receive the table with the rest of the primary's changes
+    @PostConstruct
+    void createHeartbeatTable() throws SQLException {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (id int PRIMARY KEY, beat_at timestamptz NOT NULL)");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.replicas.heartbeat-interval:PT1S}")
+    public void check() {
+        OffsetDateTime beat;
+        try {
+            beat = stampPrimary();
+        } catch (SQLException e) {
+            // Without a reference point no replica can be vouched for
+            log.warn("Could not stamp the replication heartbeat on the primary: {}", e.getMessage());
+            replicas.forEach(Replica::markUnavailable);
+            return;
+        }
+        for (Replica replica : replicas) {
+            boolean wasEligible = replica.isEligible();
+            try {
+                OffsetDateTime seen = readStamp(replica);
+                if (seen == null) {
+                    replica.markUnavailable();
+                    continue;
+                }
+                Duration lag = Duration.between(seen, beat);
+                // Another node may have stamped after this one
+                double lagSeconds = Math.max(lag.toMillis(), 0) / 1000.0;
+                replica.markLag(lagSeconds, lag.compareTo(maxLag) <= 0);
+            } catch (SQLException e) {
+                replica.markUnavailable();
+                log.debug("Replica {} could not be checked: {}", replica.name(), e.getMessage());
+            }
+            if (wasEligible != replica.isEligible()) {
+                log.info("Replica {} {} reads, lag {} s", replica.name(),
+                        replica.isEligible() ? "serves" : "no longer serves", replica.lagSeconds());
+            }
+        }
+    }
+
+    private OffsetDateTime stampPrimary() throws SQLException {
+        try (Connection connection = primary.getConnection();
+             PreparedStatement stamp = connection.prepareStatement("INSERT INTO " + TABLE + " (id, beat_at) " +
+                     "VALUES (1, clock_timestamp()) ON CONFLICT (id) DO UPDATE SET beat_at = EXCLUDED.beat_at RETURNING beat_at");
+             ResultSet result = stamp.executeQuery()) {
+            result.next();
+            return result.getObject(1, OffsetDateTime.class);
+        }
+    }
+
+    private static OffsetDateTime readStamp(Replica replica) throws SQLException {
+        try (Connection connection = replica.dataSource().getConnection();
+             PreparedStatement read = connection.prepareStatement("SELECT beat_at FROM " + TABLE + " WHERE id = 1");
+             ResultSet result = read.executeQuery()) {
+            return result.next() ? result.getObject(1, OffsetDateTime.class) : null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.credentials.datasource;
+
+import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.dto.RequestUserContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica whose lag the {@link ReplicaLagMonitor}
+ * last found within bounds, in turn, and everything else to the primary. Reads fall back to the
+ * primary when no replica qualifies or none hands out a connection.
+ * <p>
+ * A subject's reads also go to the primary for a while after it committed a write, so a client
+ * reading back what it just created does not miss it on a replica that has not replayed it yet.
+ * Writes are only remembered on the node that made them: the guarantee holds per node, and a
+ * client whose next request is balanced to another node may read from a lagging replica there.
+ * The decision needs the transaction's read-only flag, so this is used behind a
+ * {@code LazyConnectionDataSourceProxy} that checks out at the first statement.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+
+    /**
+     * @param pinAfterWrite how long a subject's reads stay on the primary after it wrote, at least the
+     *                      longest lag a replica may have while it serves reads
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration pinAfterWrite,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(pinAfterWrite)
+                .build();
+        this.pinnedReads = meterRegistry.counter("credentials.replica.primary.reads", "reason", "recent-write");
+        this.fallbackReads = meterRegistry.counter("credentials.replica.primary.reads", "reason", "no-replica");
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> {
+            if (replica.dataSource() instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        });
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return connector.connect(primary);
+        }
+        RequestUserContext context = RequestContextHolder.get();
+        String subjectId = context != null ? context.getSubjectId() : null;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (subjectId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(subjectId, Boolean.TRUE);
+                    }
+                });
+            }
+            return connector.connect(primary);
+        }
+        if (subjectId != null && recentWriters.getIfPresent(subjectId) != null) {
+            pinnedReads.increment();
+            return connector.connect(primary);
+        }
+        return replicaConnection(connector);
+    }
+
+    private Connection replicaConnection(Connector connector) throws SQLException {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.isEligible()) {
+                continue;
+            }
+            try {
+                return connector.connect(replica.dataSource());
+            } catch (SQLFeatureNotSupportedException e) {
+                // The request is not supported, say with explicit credentials on a pool, the replica is fine
+                throw e;
+            } catch (SQLException e) {
+                // Left out until the monitor reaches it again
+                replica.markUnavailable();
+                log.warn("Replica {} did not hand out a connection, reading elsewhere: {}", replica.name(), e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return connector.connect(primary);
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+}
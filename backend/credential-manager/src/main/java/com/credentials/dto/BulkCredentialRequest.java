@@ -0,0 +1,11 @@
+package com.credentials.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkCredentialRequest(@NotEmpty @Size(max = 500, message = "At most 500 credentials can be created per request")
+                                    List<@Valid CredentialRequest> credentials) {
+}
@@ -0,0 +1,8 @@
+package com.credentials.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record CredentialSummary(UUID id, String clientId, String name, String clientSecret,
+                                OffsetDateTime creationDate, OffsetDateTime expiryDate) {
+}
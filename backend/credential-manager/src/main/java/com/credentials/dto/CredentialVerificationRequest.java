@@ -0,0 +1,6 @@
+package com.credentials.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record CredentialVerificationRequest(@NotBlank String clientId, @NotBlank String clientSecret) {
+}
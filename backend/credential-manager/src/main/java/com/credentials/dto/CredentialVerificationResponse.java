@@ -0,0 +1,10 @@
+package com.credentials.dto;
+
+import java.util.UUID;
+
+public record CredentialVerificationResponse(boolean valid, String clientId, UUID organizationId) {
+
+    public static CredentialVerificationResponse invalid(String clientId) {
+        return new CredentialVerificationResponse(false, clientId, null);
+    }
+}
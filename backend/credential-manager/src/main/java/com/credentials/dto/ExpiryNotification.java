@@ -0,0 +1,12 @@
+package com.credentials.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record ExpiryNotification(UUID credentialId, String clientId, String name, UUID organizationId,
+                                 String ownerEmail, OffsetDateTime expiryDate) {
+
+    public ExpiryNotification withExpiryDate(OffsetDateTime newExpiryDate) {
+        return new ExpiryNotification(credentialId, clientId, name, organizationId, ownerEmail, newExpiryDate);
+    }
+}
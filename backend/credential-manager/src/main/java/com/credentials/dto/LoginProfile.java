@@ -0,0 +1,14 @@
+package com.credentials.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What a returning user's login needs, cached per subject so repeat logins skip the database.
+ */
+public record LoginProfile(UUID userId, String email, List<OrganizationDto> organizations) {
+
+    public LoginProfile {
+        organizations = List.copyOf(organizations);
+    }
+}
@@ -13,5 +13,7 @@ public class LoginResponse {
     private boolean requiresOrgSelection; // true if user has multiple orgs and needs to choose
     private String message; // User-friendly message about the login status
     private List<OrganizationDto> availableOrgs; // Orgs to choose from (first login or multiple orgs)
+    private String availableOrgsCursor; // First login: continue the catalog via organization search, null if complete
     private List<OrganizationDto> associatedOrgs; // Orgs already associated (returning user)
+    private String membershipToken; // Returning user: send back as 'x-membership-token' to skip membership lookups
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.credentials.dto;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The caller's user and memberships as resolved once for the current request.
+ *
+ * @param userId         null when the subject has not completed its first login
+ * @param organizationId the parsed x-org-id header, null when none was sent
+ */
+public record RequestIdentity(UUID userId, String email, UUID organizationId, Set<UUID> organizationIds) {
+
+    public boolean registered() {
+        return userId != null;
+    }
+
+    public boolean isMemberOf(UUID orgId) {
+        return organizationIds.contains(orgId);
+    }
+}
@@ -10,4 +10,17 @@ public class RequestUserContext {
     private String subjectId;
     private String email;
     private String selectedOrgId;
+
+    // Filled on first use by RequestIdentityResolver
+    private RequestIdentity identity;
+
+    public void setSubjectId(String subjectId) {
+        this.subjectId = subjectId;
+        this.identity = null;
+    }
+
+    public void setSelectedOrgId(String selectedOrgId) {
+        this.selectedOrgId = selectedOrgId;
+        this.identity = null;
+    }
 }
@@ -0,0 +1,7 @@
+package com.credentials.dto;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record UserPage(List<UserDto> items, String nextCursor) {
+}
@@ -1,12 +1,19 @@
 package com.credentials.entity;
 
+import com.credentials.security.EncryptedSecret;
+import com.credentials.security.EncryptedSecretConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.OffsetDateTime;
 
@@ -14,18 +21,39 @@ import java.time.OffsetDateTime;
 @Getter
 @Setter
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_credential_org_created", columnList = "organization_id, creation_date DESC, id DESC"),
+        @Index(name = "idx_credential_expiry", columnList = "expiry_date")
+})
 public class Credential extends BaseEntity {
 
 
     @Column(nullable = false, unique = true)
     private String clientId;
 
+    // IV || ciphertext || tag as bytea; nullable so it can be added to tables with legacy rows,
+    // SecretBinaryMigration makes it NOT NULL once they are converted
+    @Convert(converter = EncryptedSecretConverter.class)
+    @Column(name = "client_secret_bin")
+    private EncryptedSecret clientSecret;
+
+    // Masked form of the secret, stored so reads never need to decrypt
+    private String clientSecretHint;
+
+    // HMAC-SHA256 of the secret, used to verify presented secrets without decrypting
+    private byte[] clientSecretHash;
+
+    @Version
+    @ColumnDefault("0")
     @Column(nullable = false)
-    private String clientSecret;
+    private long version;
 
     private OffsetDateTime creationDate;
     private OffsetDateTime expiryDate;
 
+    // Set by the node that claimed the expiry notification, so every other node skips it
+    private OffsetDateTime expiryNotifiedAt;
+
     @ManyToOne
     @JoinColumn(name = "organization_id")
     private Organization organization;
@@ -0,0 +1,55 @@
+package com.credentials.entity;
+
+import com.credentials.security.EncryptedSecret;
+import com.credentials.security.EncryptedSecretConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Outcome of a credential creation made with an Idempotency-Key, kept so retries return the
+ * original response. The secret is stored encrypted like the credential's own.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "idempotency_key",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_subject_key", columnNames = {"subject_id", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_created", columnList = "created_at"))
+public class IdempotencyRecord extends BaseEntity {
+
+    @Column(nullable = false)
+    private String subjectId;
+
+    @Column(nullable = false)
+    private String idempotencyKey;
+
+    // SHA-256 of the request, a key reused with a different request is rejected
+    @Column(nullable = false)
+    private byte[] requestHash;
+
+    @Column(nullable = false)
+    private UUID credentialId;
+
+    @Column(nullable = false)
+    private String clientId;
+
+    @Convert(converter = EncryptedSecretConverter.class)
+    @Column(nullable = false)
+    private EncryptedSecret clientSecret;
+
+    private long credentialVersion;
+
+    @Column(nullable = false)
+    private OffsetDateTime createdAt;
+}
@@ -5,11 +5,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -21,8 +24,11 @@ import java.util.Set;
 @Setter
 @NoArgsConstructor
 @Table(name = "users")
+@NamedEntityGraph(name = User.WITH_ORGANIZATIONS, attributeNodes = @NamedAttributeNode("organizations"))
 public class User extends BaseEntity {
 
+    public static final String WITH_ORGANIZATIONS = "User.organizations";
+
     @Column(nullable = false)
     private String subjectId;
 
@@ -33,7 +39,9 @@ public class User extends BaseEntity {
     private String lastName;
 
 
+    // Batched for paths that touch several users' collections without the entity graph
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(
             name = "user_organization",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -43,5 +51,6 @@ public class User extends BaseEntity {
 
 
     @OneToMany(mappedBy = "createdBy")
+    @BatchSize(size = 50)
     private List<Credential> createdCredentials = new ArrayList<>();
 }
@@ -0,0 +1,7 @@
+package com.credentials.event;
+
+/**
+ * Changes made on other nodes may have been missed, every cache should drop all of its entries.
+ */
+public record CachesStaleEvent() {
+}
@@ -0,0 +1,294 @@
+package com.credentials.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Relays committed cache invalidations between nodes over PostgreSQL LISTEN/NOTIFY. Local change
+ * events are sent with {@code pg_notify} after commit; a dedicated connection on every node listens
+ * and republishes other nodes' events locally, so each cache evicts only the affected keys.
+ * <p>
+ * Every node hands its notifications to one sender thread, which numbers them and sends them one at
+ * a time on a connection of its own, so they arrive in order and committing threads never wait for
+ * the database or for each other. A missing number, or a reconnect of the listener (NOTIFY is not delivered to sessions that are not
+ * listening), means changes may have been missed, and all caches are flushed with a
+ * {@link CachesStaleEvent}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.invalidation-bus.enabled", havingValue = "true", matchIfMissing = true)
+public class ClusterInvalidationBus {
+
+    static final String CHANNEL = "cache_invalidation";
+    static final String LISTENER_APPLICATION_NAME = "cache-invalidation-listener";
+    static final String SENDER_APPLICATION_NAME = "cache-invalidation-sender";
+
+    private static final char MEMBERSHIP = 'M';
+    private static final char ORGANIZATIONS = 'O';
+    private static final char CREDENTIAL = 'C';
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final String url;
+    private final Properties listenerProperties = new Properties();
+    private final Properties senderProperties = new Properties();
+    private final Duration pollTimeout;
+    private final Duration maxReconnectDelay;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final BlockingQueue<String> outbox;
+    private final AtomicBoolean outboxOverflowed = new AtomicBoolean();
+    // Only touched by the sender thread
+    private long sequence;
+    private Connection senderConnection;
+    private final Map<String, Long> lastSequenceByNode = new HashMap<>();
+    private final Counter sent;
+    private final Counter sendFailures;
+    private final Counter received;
+    private final Counter flushes;
+    private final Thread listenerThread;
+    private final Thread senderThread;
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Connection listenerConnection;
+
+    public ClusterInvalidationBus(ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${spring.datasource.url}") String url,
+                                  @Value("${spring.datasource.username}") String username,
+                                  @Value("${spring.datasource.password}") String password,
+                                  @Value("${app.invalidation-bus.poll-timeout:PT5S}") Duration pollTimeout,
+                                  @Value("${app.invalidation-bus.max-reconnect-delay:PT30S}") Duration maxReconnectDelay,
+                                  @Value("${app.invalidation-bus.queue-capacity:10000}") int queueCapacity) {
+        this.eventPublisher = eventPublisher;
+        this.url = url;
+        this.listenerProperties.setProperty("user", username);
+        this.listenerProperties.setProperty("password", password);
+        this.listenerProperties.setProperty("ApplicationName", LISTENER_APPLICATION_NAME);
+        this.senderProperties.putAll(listenerProperties);
+        this.senderProperties.setProperty("ApplicationName", SENDER_APPLICATION_NAME);
+        this.outbox = new LinkedBlockingQueue<>(queueCapacity);
+        this.pollTimeout = pollTimeout;
+        this.maxReconnectDelay = maxReconnectDelay;
+        this.sent = meterRegistry.counter("credentials.invalidation.sent");
+        this.sendFailures = meterRegistry.counter("credentials.invalidation.send.failures");
+        this.received = meterRegistry.counter("credentials.invalidation.received");
+        this.flushes = meterRegistry.counter("credentials.invalidation.flushes");
+        this.listenerThread = new Thread(this::listen, LISTENER_APPLICATION_NAME);
+        this.listenerThread.setDaemon(true);
+        this.senderThread = new Thread(this::sendQueued, SENDER_APPLICATION_NAME);
+        this.senderThread.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        listenerThread.start();
+        senderThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        closeQuietly(listenerConnection);
+        listenerThread.interrupt();
+        listenerThread.join(pollTimeout.toMillis());
+        // The sender drains what is already queued before it exits
+        senderThread.join(pollTimeout.toMillis());
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        send(MEMBERSHIP, event.subjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrganizationsChanged(OrganizationsChangedEvent event) {
+        send(ORGANIZATIONS, "");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCredentialChanged(CredentialChangedEvent event) {
+        send(CREDENTIAL, event.clientId());
+    }
+
+    private void send(char type, String key) {
+        // Events republished from other nodes arrive on the listener thread and are not sent back out
+        if (Thread.currentThread() == listenerThread) {
+            return;
+        }
+        // Called after commit while the caller may still hold a pooled connection, so it only queues
+        if (!outbox.offer(type + ":" + key)) {
+            outboxOverflowed.set(true);
+        }
+    }
+
+    private void sendQueued() {
+        while (running || !outbox.isEmpty()) {
+            String message;
+            try {
+                message = outbox.poll(pollTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (outboxOverflowed.getAndSet(false)) {
+                // The dropped notifications get a number nobody receives, so the other nodes flush
+                sequence++;
+                sendFailures.increment();
+                log.warn("Cache invalidation queue was full, other nodes will flush their caches");
+            }
+            if (message == null) {
+                keepSenderConnectionAlive();
+                continue;
+            }
+            String payload = nodeId + ':' + ++sequence + ':' + message;
+            try {
+                if (senderConnection == null) {
+                    senderConnection = DriverManager.getConnection(url, senderProperties);
+                }
+                try (PreparedStatement notify = senderConnection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                    notify.setString(1, CHANNEL);
+                    notify.setString(2, payload);
+                    notify.execute();
+                }
+                sent.increment();
+            } catch (SQLException e) {
+                // The skipped sequence number makes the other nodes flush on their next notification
+                sendFailures.increment();
+                log.warn("Could not publish cache invalidation {}: {}", payload, e.getMessage());
+                closeQuietly(senderConnection);
+                senderConnection = null;
+            }
+        }
+        closeQuietly(senderConnection);
+    }
+
+    // An idle connection that died is replaced before the next notification needs it, not after it failed
+    private void keepSenderConnectionAlive() {
+        if (senderConnection == null) {
+            return;
+        }
+        try (Statement statement = senderConnection.createStatement()) {
+            statement.execute("SELECT 1");
+        } catch (SQLException e) {
+            closeQuietly(senderConnection);
+            senderConnection = null;
+        }
+    }
+
+    private void listen() {
+        long reconnectDelay = 100;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, listenerProperties);
+                 Statement statement = connection.createStatement()) {
+                listenerConnection = connection;
+                statement.execute("LISTEN " + CHANNEL);
+                if (connectedBefore) {
+                    flush("listener reconnected");
+                }
+                connectedBefore = true;
+                listening = true;
+                reconnectDelay = 100;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null || notifications.length == 0) {
+                        // A silent poll cannot tell an idle channel from a dead connection
+                        statement.execute("SELECT 1");
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        apply(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                listening = false;
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, retrying in {} ms: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, maxReconnectDelay.toMillis());
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length != 4 || parts[2].length() != 1) {
+            log.warn("Ignoring malformed cache invalidation {}", payload);
+            return;
+        }
+        String sender = parts[0];
+        if (sender.equals(nodeId)) {
+            return;
+        }
+        received.increment();
+        long number = Long.parseLong(parts[1]);
+        Long previous = lastSequenceByNode.get(sender);
+        // Only ever moves forward, a late or repeated number is applied without being taken for a gap
+        if (previous == null || number > previous) {
+            lastSequenceByNode.put(sender, number);
+        }
+        if (previous != null && number > previous + 1) {
+            flush("notifications " + (previous + 1) + " to " + (number - 1) + " from node " + sender + " are missing");
+            return;
+        }
+        switch (parts[2].charAt(0)) {
+            case MEMBERSHIP -> eventPublisher.publishEvent(new MembershipChangedEvent(parts[3]));
+            case ORGANIZATIONS -> eventPublisher.publishEvent(new OrganizationsChangedEvent());
+            case CREDENTIAL -> eventPublisher.publishEvent(new CredentialChangedEvent(parts[3]));
+            default -> log.warn("Ignoring cache invalidation of unknown type {}", payload);
+        }
+    }
+
+    private void flush(String reason) {
+        flushes.increment();
+        log.info("Flushing all caches, {}", reason);
+        eventPublisher.publishEvent(new CachesStaleEvent());
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing a cache invalidation connection failed: {}", e.getMessage());
+        }
+    }
+}
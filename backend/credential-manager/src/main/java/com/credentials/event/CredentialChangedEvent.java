@@ -0,0 +1,7 @@
+package com.credentials.event;
+
+/**
+ * A credential's secret was reset or the credential was removed.
+ */
+public record CredentialChangedEvent(String clientId) {
+}
@@ -0,0 +1,7 @@
+package com.credentials.event;
+
+/**
+ * A user or the organizations it belongs to changed, or the user was removed.
+ */
+public record MembershipChangedEvent(String subjectId) {
+}
@@ -0,0 +1,7 @@
+package com.credentials.event;
+
+/**
+ * An organization was created, updated or removed.
+ */
+public record OrganizationsChangedEvent() {
+}
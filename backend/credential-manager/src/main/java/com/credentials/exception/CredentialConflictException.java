@@ -0,0 +1,7 @@
+package com.credentials.exception;
+
+public class CredentialConflictException extends RuntimeException {
+    public CredentialConflictException(String message) {
+        super(message);
+    }
+}
@@ -25,6 +25,13 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(CredentialConflictException.class)
+    public ResponseEntity<ErrorResponse> handleCredentialConflictException(CredentialConflictException ex) {
+        log.warn("Credential conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse("CREDENTIAL_CONFLICT", ex.getMessage()));
+    }
+
     @ExceptionHandler({UserNotFoundException.class, CredentialNotFoundException.class})
     public ResponseEntity<ErrorResponse> handleNotFoundExceptions(RuntimeException ex) {
         String errorCode;
@@ -37,20 +37,14 @@ public class CustomHeaderAuthFilter extends OncePerRequestFilter {
         log.debug("Request Path: {}, x-user-sub: {}, x-user-email: {}, x-org-id: {}",
                 request.getRequestURI(), sub, email, orgId);
 
-        if (StringUtils.isNotBlank(sub)) {
-            RequestUserContext context = RequestUserContext.builder()
-                    .subjectId(sub)
-                    .email(email)
-                    .selectedOrgId(orgId)
-                    .build();
-
-            RequestContextHolder.set(context);
-        }
+        RequestUserContext context = StringUtils.isBlank(sub) ? null : RequestUserContext.builder()
+                .subjectId(sub)
+                .email(email)
+                .selectedOrgId(orgId)
+                .build();
 
-        try {
+        try (RequestContextHolder.Binding ignored = RequestContextHolder.bind(context)) {
             filterChain.doFilter(request, response);
-        } finally {
-            RequestContextHolder.clear();
         }
     }
 }
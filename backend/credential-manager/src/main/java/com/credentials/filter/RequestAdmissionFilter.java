@@ -0,0 +1,65 @@
+package com.credentials.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the API requests in progress when requests run on virtual threads. Without a worker pool
+ * every accepted request enters the application at once and holds its session and stack on the heap
+ * while it waits for a database connection; here it waits before any of that is built, in arrival
+ * order, and is answered 503 if no slot frees up in time.
+ */
+@Slf4j
+public class RequestAdmissionFilter extends OncePerRequestFilter {
+
+    private final Semaphore slots;
+    private final long timeoutMillis;
+    private final Counter rejected;
+
+    public RequestAdmissionFilter(MeterRegistry meterRegistry, int maxConcurrentRequests, Duration timeout) {
+        this.slots = new Semaphore(maxConcurrentRequests, true);
+        this.timeoutMillis = timeout.toMillis();
+        this.rejected = meterRegistry.counter("credentials.requests.rejected");
+        Gauge.builder("credentials.requests.waiting", slots, Semaphore::getQueueLength).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = slots.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            rejected.increment();
+            log.debug("Rejecting {} {}, no request slot freed up within {} ms",
+                    request.getMethod(), request.getRequestURI(), timeoutMillis);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is busy, retry later");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            slots.release();
+        }
+    }
+}
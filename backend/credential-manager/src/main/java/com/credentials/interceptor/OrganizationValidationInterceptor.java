@@ -1,20 +1,22 @@
 package com.credentials.interceptor;
 
 import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.bootstrap.RequestIdentityResolver;
+import com.credentials.dto.RequestIdentity;
 import com.credentials.dto.RequestUserContext;
-import com.credentials.entity.User;
 import com.credentials.exception.CredentialProcessingException;
-import com.credentials.repo.UserRepository;
+import com.credentials.security.MembershipTokenService;
+import com.credentials.service.impl.MembershipCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import java.util.Optional;
-import java.util.UUID;
 
 /**
  * Interceptor responsible for validating organization membership
@@ -27,7 +29,10 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class OrganizationValidationInterceptor implements HandlerInterceptor {
 
-    private final UserRepository userRepo;
+    private final MembershipCache membershipCache;
+    private final RequestIdentityResolver identityResolver;
+    private final MembershipTokenService tokenService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public boolean preHandle(HttpServletRequest request,
@@ -43,14 +48,32 @@ public class OrganizationValidationInterceptor implements HandlerInterceptor {
         }
 
         String subjectId = context.getSubjectId();
-        String orgId = context.getSelectedOrgId();
 
-        Optional<User> loggedInUser = userRepo.findBySubjectId(subjectId);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String token = request.getHeader(MembershipTokenService.HEADER);
+        Optional<RequestIdentity> fromToken = token == null ? Optional.empty() : identityResolver.resolveFromToken(token);
+        String source = fromToken.isPresent() ? "token" : membershipCache.isCached(subjectId) ? "hit" : "miss";
+        try {
+            RequestIdentity identity = fromToken.orElseGet(identityResolver::resolve);
+            validateMembership(subjectId, identity);
+            if (fromToken.isEmpty() && identity.registered()) {
+                // Clients without a usable token get a fresh one to skip this lookup next time
+                response.setHeader(MembershipTokenService.HEADER, tokenService.issue(subjectId, identity.userId(),
+                        identity.email(), identity.organizationIds()));
+            }
+        } finally {
+            // Comparing the token, hit and miss timings shows the latency each path saves
+            sample.stop(meterRegistry.timer("credentials.membership.check", "cache", source));
+        }
 
+        return true;
+    }
+
+    private static void validateMembership(String subjectId, RequestIdentity identity) {
         // Validate: Returning user with multiple orgs MUST provide org context
-        if (loggedInUser.isPresent()
-                && StringUtils.isBlank(orgId)
-                && loggedInUser.get().getOrganizations().size() > 1) {
+        if (identity.registered()
+                && identity.organizationId() == null
+                && identity.organizationIds().size() > 1) {
 
 
             throw new CredentialProcessingException(
@@ -59,16 +82,14 @@ public class OrganizationValidationInterceptor implements HandlerInterceptor {
         }
 
         // Validate: If org ID is provided, user must be a member
-        if (StringUtils.isNotBlank(orgId)) {
-            boolean isValid = userRepo.isUserMemberOfOrg(subjectId, UUID.fromString(orgId));
+        if (identity.organizationId() != null) {
+            boolean isValid = identity.isMemberOf(identity.organizationId());
 
             if (!isValid) {
                 throw new CredentialProcessingException(
                     "User with subject ID: " + subjectId +
-                    " is not a member of organization with ID: " + orgId);
+                    " is not a member of organization with ID: " + identity.organizationId());
             }
         }
-
-        return true;
     }
 }
@@ -2,7 +2,7 @@ package com.credentials.mapper;
 
 import com.credentials.dto.CredentialResponse;
 import com.credentials.entity.Credential;
-import com.credentials.security.EncryptionUtils;
+import com.credentials.security.EncryptedSecret;
 import com.credentials.util.MaskingUtil;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -11,18 +11,36 @@ import org.mapstruct.Named;
 @Mapper(componentModel = "spring")
 public interface CredentialMapper {
 
-    // decrypt the secret field when mapping to DTO and mask it
+    // use the stored masked hint, decrypting only for rows that have not been backfilled yet
     @Mapping(target = "id", source = "id")
-    @Mapping(target = "clientSecret", source = "clientSecret", qualifiedByName = "decryptAndMask")
+    @Mapping(target = "clientSecret", source = "entity", qualifiedByName = "maskedSecret")
     CredentialResponse toDto(Credential entity);
 
-    @Mapping(target = "id", source = "id")
-    CredentialResponse toUnMaskedDto(Credential entity);
+    // the plain secret is only known right after generation, so callers pass it in
+    default CredentialResponse toUnMaskedDto(Credential entity, String plainSecret) {
+        return new CredentialResponse(entity.getId(), entity.getClientId(), plainSecret, entity.getName(), entity.getVersion());
+    }
 
+    @Mapping(target = "clientSecret", ignore = true)
+    @Mapping(target = "clientSecretHint", ignore = true)
+    @Mapping(target = "clientSecretHash", ignore = true)
+    @Mapping(target = "creationDate", ignore = true)
+    @Mapping(target = "expiryDate", ignore = true)
+    @Mapping(target = "expiryNotifiedAt", ignore = true)
+    @Mapping(target = "organization", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
     Credential toEntity(CredentialResponse dto);
 
+    @Named("maskedSecret")
+    default String maskedSecret(Credential entity) {
+        if (entity.getClientSecretHint() != null) {
+            return entity.getClientSecretHint();
+        }
+        return decryptAndMask(entity.getClientSecret());
+    }
+
     @Named("decryptAndMask")
-    default String decryptAndMask(String encryptedSecret)  {
-        return encryptedSecret == null ? null : MaskingUtil.mask(EncryptionUtils.decrypt(encryptedSecret));
+    default String decryptAndMask(EncryptedSecret encryptedSecret)  {
+        return encryptedSecret == null ? null : MaskingUtil.mask(encryptedSecret.decrypt());
     }
 }
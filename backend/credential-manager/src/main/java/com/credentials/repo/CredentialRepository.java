@@ -1,16 +1,93 @@
 package com.credentials.repo;
 
+import com.credentials.dto.CredentialSummary;
+import com.credentials.dto.ExpiryNotification;
 import com.credentials.entity.Credential;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface CredentialRepository extends JpaRepository<Credential, UUID> {
+public interface CredentialRepository extends JpaRepository<Credential, UUID>, CredentialWriteRepository {
 
     List<Credential> findByOrganizationId(UUID orgId);
-}
 
+    // Ownership is checked in the same statement; associations are fetched so no follow-up selects run
+    @Query("SELECT c FROM Credential c JOIN FETCH c.createdBy u LEFT JOIN FETCH c.organization " +
+            "WHERE c.id = :id AND u.subjectId = :subjectId")
+    Optional<Credential> findOwnedBySubjectId(@Param("id") UUID id, @Param("subjectId") String subjectId);
+
+    boolean existsByIdAndCreatedBySubjectId(UUID id, String subjectId);
+
+    // Newest first, seeking on (creation_date, id) so every page is an index range scan
+    @Query("SELECT new com.credentials.dto.CredentialSummary(c.id, c.clientId, c.name, c.clientSecretHint, " +
+            "c.creationDate, c.expiryDate) FROM Credential c WHERE c.organization.id = :orgId " +
+            "ORDER BY c.creationDate DESC, c.id DESC")
+    List<CredentialSummary> findFirstPageByOrganization(@Param("orgId") UUID orgId, Pageable pageable);
+
+    // Forward-only cursor read in fetch-size chunks; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.credentials.dto.CredentialSummary(c.id, c.clientId, c.name, c.clientSecretHint, " +
+            "c.creationDate, c.expiryDate) FROM Credential c WHERE c.organization.id = :orgId " +
+            "ORDER BY c.creationDate, c.id")
+    Stream<CredentialSummary> streamByOrganization(@Param("orgId") UUID orgId);
+
+    @Query("SELECT new com.credentials.dto.CredentialSummary(c.id, c.clientId, c.name, c.clientSecretHint, " +
+            "c.creationDate, c.expiryDate) FROM Credential c WHERE c.organization.id = :orgId " +
+            "AND (c.creationDate < :afterDate OR (c.creationDate = :afterDate AND c.id < :afterId)) " +
+            "ORDER BY c.creationDate DESC, c.id DESC")
+    List<CredentialSummary> findPageByOrganizationAfter(@Param("orgId") UUID orgId,
+                                                        @Param("afterDate") OffsetDateTime afterDate,
+                                                        @Param("afterId") UUID afterId,
+                                                        Pageable pageable);
 
+    @Query("SELECT c.id AS id, c.clientSecret AS clientSecret FROM Credential c " +
+            "WHERE (c.clientSecretHint IS NULL OR c.clientSecretHash IS NULL) " +
+            "AND c.clientSecret IS NOT NULL AND c.id > :afterId ORDER BY c.id")
+    List<CredentialSecretView> findMissingSecretDigests(@Param("afterId") UUID afterId, Pageable pageable);
 
+    @Modifying
+    @Query("UPDATE Credential c SET c.clientSecretHint = :hint, c.clientSecretHash = :hash WHERE c.id = :id")
+    int updateSecretDigests(@Param("id") UUID id, @Param("hint") String hint, @Param("hash") byte[] hash);
 
+    @Query("SELECT c.id AS id, c.organization.id AS organizationId, c.clientSecret AS clientSecret, " +
+            "c.clientSecretHash AS clientSecretHash, c.expiryDate AS expiryDate " +
+            "FROM Credential c WHERE c.clientId = :clientId")
+    Optional<CredentialVerificationView> findVerificationByClientId(@Param("clientId") String clientId);
+
+    // Keyset walk over idx_credential_expiry, the first call passes the window start with the minimal UUID
+    @Query("SELECT new com.credentials.dto.ExpiryNotification(c.id, c.clientId, c.name, c.organization.id, " +
+            "c.createdBy.email, c.expiryDate) FROM Credential c " +
+            "WHERE c.expiryDate < :before AND (c.expiryDate > :afterDate OR (c.expiryDate = :afterDate AND c.id > :afterId)) " +
+            "AND c.expiryNotifiedAt IS NULL ORDER BY c.expiryDate, c.id")
+    List<ExpiryNotification> findExpiringBetween(@Param("afterDate") OffsetDateTime afterDate,
+                                                 @Param("afterId") UUID afterId,
+                                                 @Param("before") OffsetDateTime before,
+                                                 Pageable pageable);
+
+    // Every node loads the same window, the one whose claim updates the row delivers the notification
+    @Modifying
+    @Transactional
+    @Query("UPDATE Credential c SET c.expiryNotifiedAt = :notifiedAt WHERE c.id = :id AND c.expiryNotifiedAt IS NULL")
+    int claimExpiryNotification(@Param("id") UUID id, @Param("notifiedAt") OffsetDateTime notifiedAt);
+
+    // Undoes this node's own claim after a failed delivery, so the notification can be claimed again
+    @Modifying
+    @Transactional
+    @Query("UPDATE Credential c SET c.expiryNotifiedAt = NULL WHERE c.id = :id AND c.expiryNotifiedAt = :claimedAt")
+    int releaseExpiryNotification(@Param("id") UUID id, @Param("claimedAt") OffsetDateTime claimedAt);
+}
@@ -0,0 +1,7 @@
+package com.credentials.repo;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record CredentialResetResult(UUID id, String clientId, String name, long version, OffsetDateTime expiryDate) {
+}
@@ -0,0 +1,16 @@
+package com.credentials.repo;
+
+import com.credentials.security.EncryptedSecret;
+
+import java.util.UUID;
+
+/**
+ * Minimal read of a credential's stored secret, used by maintenance jobs
+ * that must not hydrate the organization and owner associations.
+ */
+public interface CredentialSecretView {
+
+    UUID getId();
+
+    EncryptedSecret getClientSecret();
+}
@@ -0,0 +1,23 @@
+package com.credentials.repo;
+
+import com.credentials.security.EncryptedSecret;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Columns needed to verify a presented client secret, read without
+ * hydrating the organization and owner associations.
+ */
+public interface CredentialVerificationView {
+
+    UUID getId();
+
+    UUID getOrganizationId();
+
+    EncryptedSecret getClientSecret();
+
+    byte[] getClientSecretHash();
+
+    OffsetDateTime getExpiryDate();
+}
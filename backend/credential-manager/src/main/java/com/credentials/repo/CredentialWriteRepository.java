@@ -0,0 +1,19 @@
+package com.credentials.repo;
+
+import com.credentials.security.EncryptedSecret;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Set-based writes that check ownership in the same statement as the change.
+ * An empty result means no row matched: the credential is missing, owned by
+ * someone else, or (for a reset with an expected version) was changed concurrently.
+ */
+public interface CredentialWriteRepository {
+
+    Optional<String> deleteOwned(UUID id, String subjectId);
+
+    Optional<CredentialResetResult> resetOwnedSecret(UUID id, String subjectId, EncryptedSecret secret,
+                                                     String secretHint, byte[] secretHash, Long expectedVersion);
+}
@@ -0,0 +1,67 @@
+package com.credentials.repo;
+
+import com.credentials.entity.Credential;
+import com.credentials.security.EncryptedSecret;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class CredentialWriteRepositoryImpl implements CredentialWriteRepository {
+
+    private static final String OWNER_CONDITION =
+            "created_by = (SELECT u.id FROM users u WHERE u.subject_id = :subjectId)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<String> deleteOwned(UUID id, String subjectId) {
+        List<?> clientIds = entityManager.createNativeQuery(
+                        "DELETE FROM credential WHERE id = :id AND " + OWNER_CONDITION + " RETURNING client_id")
+                .setParameter("id", id)
+                .setParameter("subjectId", subjectId)
+                .getResultList();
+        detachStale(id);
+        return clientIds.stream().findFirst().map(String.class::cast);
+    }
+
+    @Override
+    @Transactional
+    public Optional<CredentialResetResult> resetOwnedSecret(UUID id, String subjectId, EncryptedSecret secret,
+                                                            String secretHint, byte[] secretHash, Long expectedVersion) {
+        String versionCondition = expectedVersion == null ? "" : " AND version = :expectedVersion";
+        var query = entityManager.createNativeQuery(
+                        "UPDATE credential SET client_secret_bin = :secret, client_secret_hint = :hint, " +
+                                "client_secret_hash = :hash, version = version + 1 " +
+                                "WHERE id = :id AND " + OWNER_CONDITION + versionCondition +
+                                " RETURNING id, client_id, name, version, expiry_date")
+                .setParameter("secret", secret.toBytes())
+                .setParameter("hint", secretHint)
+                .setParameter("hash", secretHash)
+                .setParameter("id", id)
+                .setParameter("subjectId", subjectId);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        List<?> rows = query.getResultList();
+        detachStale(id);
+        return rows.stream()
+                .map(Object[].class::cast)
+                .map(row -> new CredentialResetResult((UUID) row[0], (String) row[1], (String) row[2],
+                        ((Number) row[3]).longValue(), ((Instant) row[4]).atOffset(ZoneOffset.UTC)))
+                .findFirst();
+    }
+
+    // The statements bypass the persistence context, so drop any instance loaded earlier in the same session.
+    // getReference returns the managed instance or an uninitialized proxy, neither of which hits the database.
+    private void detachStale(UUID id) {
+        entityManager.detach(entityManager.getReference(Credential.class, id));
+    }
+}
@@ -1,8 +1,27 @@
 package com.credentials.repo;
 
 import com.credentials.entity.Organization;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.UUID;
 
-public interface OrganizationRepository extends JpaRepository<Organization, UUID> {}
\ No newline at end of file
+public interface OrganizationRepository extends JpaRepository<Organization, UUID> {
+
+    // Substring matches on lower(...) are served by the pg_trgm indexes from OrganizationSearchIndexes
+    String SEARCH_CONDITION = "(lower(o.name) LIKE :pattern ESCAPE '!' OR lower(o.vatNumber) LIKE :pattern ESCAPE '!' " +
+            "OR lower(o.sapId) LIKE :pattern ESCAPE '!')";
+
+    @Query("SELECT o FROM Organization o WHERE " + SEARCH_CONDITION + " ORDER BY o.name, o.id")
+    List<Organization> searchFirstPage(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT o FROM Organization o WHERE " + SEARCH_CONDITION +
+            " AND (o.name > :afterName OR (o.name = :afterName AND o.id > :afterId)) ORDER BY o.name, o.id")
+    List<Organization> searchPageAfter(@Param("pattern") String pattern,
+                                       @Param("afterName") String afterName,
+                                       @Param("afterId") UUID afterId,
+                                       Pageable pageable);
+}
@@ -1,19 +1,27 @@
 package com.credentials.repo;
 
+import com.credentials.dto.UserDto;
 import com.credentials.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
-    Optional<User> findBySubjectId(String subjectId);
+    // User and memberships in one statement, for paths that always read the organizations
+    @EntityGraph(User.WITH_ORGANIZATIONS)
+    Optional<User> findWithOrganizationsBySubjectId(String subjectId);
 
-    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END " +
-            "FROM User u " +
-            "JOIN u.organizations o " +
-            "WHERE u.subjectId = :subjectId AND o.id = :orgId")
-    boolean isUserMemberOfOrg(@Param("subjectId") String subjectId, @Param("orgId") UUID orgId);
+    // Users are read straight into DTOs ordered by their unique email, nothing becomes managed
+    @Query("SELECT new com.credentials.dto.UserDto(u.name, u.email, u.firstName, u.lastName) FROM User u ORDER BY u.email")
+    List<UserDto> findUserPage(Pageable pageable);
+
+    @Query("SELECT new com.credentials.dto.UserDto(u.name, u.email, u.firstName, u.lastName) FROM User u " +
+            "WHERE u.email > :afterEmail ORDER BY u.email")
+    List<UserDto> findUserPageAfter(@Param("afterEmail") String afterEmail, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.credentials.scheduler;
+
+import com.credentials.service.CredentialVerificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Deletes expired credentials in bounded batches. Each batch is a single auto-committed statement
+ * whose row locks are taken with {@code SKIP LOCKED}, so rows held by foreground requests are
+ * left for the next run instead of being waited on.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.credential-sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpiredCredentialSweeper {
+
+    private static final String DELETE_EXPIRED_BATCH =
+            "DELETE FROM credential WHERE id IN (" +
+                    "SELECT id FROM credential WHERE expiry_date < ? ORDER BY expiry_date LIMIT ? " +
+                    "FOR UPDATE SKIP LOCKED) RETURNING client_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CredentialVerificationService verificationService;
+    private final int batchSize;
+    private final Duration pause;
+    private final Duration maxRuntime;
+    private final Counter deleted;
+    private final Counter truncatedRuns;
+    private final Timer runs;
+
+    public ExpiredCredentialSweeper(JdbcTemplate jdbcTemplate,
+                                    CredentialVerificationService verificationService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.credential-sweeper.batch-size:500}") int batchSize,
+                                    @Value("${app.credential-sweeper.pause:PT0.2S}") Duration pause,
+                                    @Value("${app.credential-sweeper.max-runtime:PT30S}") Duration maxRuntime) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.verificationService = verificationService;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxRuntime = maxRuntime;
+        this.deleted = meterRegistry.counter("credentials.sweeper.deleted");
+        this.truncatedRuns = meterRegistry.counter("credentials.sweeper.truncated");
+        this.runs = meterRegistry.timer("credentials.sweeper.run");
+    }
+
+    @Scheduled(initialDelayString = "${app.credential-sweeper.initial-delay:PT1M}",
+            fixedDelayString = "${app.credential-sweeper.interval:PT5M}")
+    public void scheduledSweep() {
+        int swept = sweep();
+        if (swept > 0) {
+            log.info("Expired credential sweeper deleted {} credentials", swept);
+        }
+    }
+
+    public int sweep() {
+        return runs.record(this::sweepBatches);
+    }
+
+    private int sweepBatches() {
+        // Fixed at the start of the run so rows expiring meanwhile cannot keep the loop going
+        OffsetDateTime cutoff = OffsetDateTime.now();
+        long deadline = System.nanoTime() + maxRuntime.toNanos();
+        int total = 0;
+        while (true) {
+            List<String> clientIds = jdbcTemplate.queryForList(DELETE_EXPIRED_BATCH, String.class, cutoff, batchSize);
+            clientIds.forEach(verificationService::evict);
+            deleted.increment(clientIds.size());
+            total += clientIds.size();
+            if (clientIds.size() < batchSize) {
+                return total;
+            }
+            if (System.nanoTime() + pause.toNanos() >= deadline) {
+                truncatedRuns.increment();
+                log.info("Expired credential sweeper reached its {} runtime limit, continuing next run", maxRuntime);
+                return total;
+            }
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return total;
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.credentials.scheduler;
+
+import com.credentials.dto.ExpiryNotification;
+import com.credentials.repo.CredentialRepository;
+import com.credentials.util.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends a notification {@code lead-time} before each credential expires. Only credentials whose
+ * notification falls inside the next {@code window} are held in memory; the window is extended
+ * from the expiry_date index as time passes, and create/reset/delete keep the loaded part current.
+ * Notifications whose time already passed when they become known (e.g. across a restart) are not sent.
+ * <p>
+ * Every node loads the same window, so a due notification is claimed on its credential row first and
+ * only the node whose claim succeeds delivers it; a credential deleted meanwhile has no row to claim.
+ * When delivery fails the claim is released and the claiming node tries again {@code retry-delay} later.
+ */
+@Component
+@Slf4j
+public class ExpiryNotificationScheduler {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final CredentialRepository credentialRepo;
+    private final ExpiryNotificationSink sink;
+    private final Clock clock;
+    private final Duration leadTime;
+    private final Duration window;
+    private final Duration retryDelay;
+    private final int batchSize;
+    private final HierarchicalTimingWheel<ExpiryNotification> wheel;
+    private final Map<UUID, HierarchicalTimingWheel.Timeout<ExpiryNotification>> pending = new HashMap<>();
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter claimedElsewhere;
+    private OffsetDateTime loadedUntil;
+
+    @Autowired
+    public ExpiryNotificationScheduler(CredentialRepository credentialRepo,
+                                       ExpiryNotificationSink sink,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.expiry-notification.lead-time:P7D}") Duration leadTime,
+                                       @Value("${app.expiry-notification.window:P1D}") Duration window,
+                                       @Value("${app.expiry-notification.tick:PT1S}") Duration tick,
+                                       @Value("${app.expiry-notification.retry-delay:PT1M}") Duration retryDelay,
+                                       @Value("${app.expiry-notification.batch-size:500}") int batchSize) {
+        this(credentialRepo, sink, meterRegistry, Clock.systemUTC(), leadTime, window, tick, retryDelay, batchSize);
+    }
+
+    ExpiryNotificationScheduler(CredentialRepository credentialRepo, ExpiryNotificationSink sink,
+                                MeterRegistry meterRegistry, Clock clock, Duration leadTime, Duration window,
+                                Duration tick, Duration retryDelay, int batchSize) {
+        this.credentialRepo = credentialRepo;
+        this.sink = sink;
+        this.clock = clock;
+        this.leadTime = leadTime;
+        this.window = window;
+        this.retryDelay = retryDelay;
+        this.batchSize = batchSize;
+        this.wheel = new HierarchicalTimingWheel<>(clock.millis(), tick.toMillis(), 64, 4);
+        this.loadedUntil = OffsetDateTime.now(clock);
+        this.delivered = meterRegistry.counter("credentials.expiry.notifications", "outcome", "delivered");
+        this.failed = meterRegistry.counter("credentials.expiry.notifications", "outcome", "failed");
+        this.claimedElsewhere = meterRegistry.counter("credentials.expiry.notifications", "outcome", "claimed-elsewhere");
+        meterRegistry.gauge("credentials.expiry.notifications.pending", this, ExpiryNotificationScheduler::pendingCount);
+    }
+
+    /**
+     * Tracks the credential, replacing any pending notification for it. Ignored when the
+     * notification time is outside the loaded window, the window loader picks it up later.
+     */
+    public synchronized void schedule(ExpiryNotification notification) {
+        cancel(notification.credentialId());
+        OffsetDateTime notifyAt = notification.expiryDate().minus(leadTime);
+        if (notifyAt.isBefore(OffsetDateTime.now(clock)) || !notifyAt.isBefore(loadedUntil)) {
+            return;
+        }
+        pending.put(notification.credentialId(), wheel.schedule(notification, notifyAt.toInstant().toEpochMilli()));
+    }
+
+    // Moves a pending notification to a new expiry date, credentials not currently tracked are left to the loader
+    public synchronized void reschedule(UUID credentialId, OffsetDateTime expiryDate) {
+        HierarchicalTimingWheel.Timeout<ExpiryNotification> timeout = pending.get(credentialId);
+        if (timeout != null) {
+            schedule(timeout.payload().withExpiryDate(expiryDate));
+        }
+    }
+
+    public synchronized void cancel(UUID credentialId) {
+        HierarchicalTimingWheel.Timeout<ExpiryNotification> timeout = pending.remove(credentialId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    public synchronized boolean isPending(UUID credentialId) {
+        return pending.containsKey(credentialId);
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.expiry-notification.tick:PT1S}")
+    public void tick() {
+        List<ExpiryNotification> due;
+        synchronized (this) {
+            due = wheel.advance(clock.millis());
+            due.forEach(notification -> pending.remove(notification.credentialId()));
+        }
+        // Delivery may do I/O, so it runs outside the lock that create/delete take
+        for (ExpiryNotification notification : due) {
+            // At the precision the column stores, so the release matches the claim
+            OffsetDateTime claimedAt = OffsetDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+            try {
+                if (credentialRepo.claimExpiryNotification(notification.credentialId(), claimedAt) == 0) {
+                    claimedElsewhere.increment();
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Expiry notification for credential {} could not be claimed: {}",
+                        notification.clientId(), e.getMessage());
+                retryLater(notification);
+                continue;
+            }
+            try {
+                sink.deliver(notification);
+                delivered.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Expiry notification for credential {} could not be delivered: {}",
+                        notification.clientId(), e.getMessage());
+                release(notification, claimedAt);
+            }
+        }
+    }
+
+    // Without the release the row stays claimed and is never loaded or delivered again
+    private void release(ExpiryNotification notification, OffsetDateTime claimedAt) {
+        try {
+            credentialRepo.releaseExpiryNotification(notification.credentialId(), claimedAt);
+        } catch (RuntimeException e) {
+            log.error("Expiry notification claim for credential {} could not be released, it will not be retried: {}",
+                    notification.clientId(), e.getMessage());
+            return;
+        }
+        retryLater(notification);
+    }
+
+    // The loaded window only moves forward, so the node that failed is the one to try again
+    private synchronized void retryLater(ExpiryNotification notification) {
+        if (pending.containsKey(notification.credentialId())) {
+            return;
+        }
+        pending.put(notification.credentialId(),
+                wheel.schedule(notification, clock.millis() + retryDelay.toMillis()));
+    }
+
+    /**
+     * Extends the loaded window to {@code now + window}. The new bound is published before the
+     * query runs, so a credential created meanwhile is scheduled by create, by the query, or by both.
+     */
+    @Scheduled(fixedDelayString = "${app.expiry-notification.load-interval:PT1H}")
+    public void loadWindow() {
+        OffsetDateTime from;
+        OffsetDateTime to = OffsetDateTime.now(clock).plus(window);
+        synchronized (this) {
+            if (!to.isAfter(loadedUntil)) {
+                return;
+            }
+            from = loadedUntil;
+            loadedUntil = to;
+        }
+        OffsetDateTime afterDate = from.plus(leadTime).withOffsetSameInstant(ZoneOffset.UTC);
+        UUID afterId = MIN_UUID;
+        int loaded = 0;
+        List<ExpiryNotification> batch;
+        do {
+            batch = credentialRepo.findExpiringBetween(afterDate, afterId, to.plus(leadTime), PageRequest.of(0, batchSize));
+            batch.forEach(this::schedule);
+            loaded += batch.size();
+            if (!batch.isEmpty()) {
+                ExpiryNotification last = batch.get(batch.size() - 1);
+                afterDate = last.expiryDate();
+                afterId = last.credentialId();
+            }
+        } while (batch.size() == batchSize);
+        log.debug("Loaded {} expiry notifications due before {}", loaded, to);
+    }
+}
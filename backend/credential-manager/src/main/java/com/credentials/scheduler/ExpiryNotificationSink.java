@@ -0,0 +1,12 @@
+package com.credentials.scheduler;
+
+import com.credentials.dto.ExpiryNotification;
+
+/**
+ * Delivers expiry notifications to credential owners. Called from the scheduler thread,
+ * so implementations should not block for long.
+ */
+public interface ExpiryNotificationSink {
+
+    void deliver(ExpiryNotification notification);
+}
@@ -0,0 +1,14 @@
+package com.credentials.scheduler;
+
+import com.credentials.dto.ExpiryNotification;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class LoggingExpiryNotificationSink implements ExpiryNotificationSink {
+
+    @Override
+    public void deliver(ExpiryNotification notification) {
+        log.info("Credential {} ({}) of {} expires at {}", notification.clientId(), notification.name(),
+                notification.ownerEmail(), notification.expiryDate());
+    }
+}
@@ -0,0 +1,26 @@
+package com.credentials.scheduler;
+
+import com.credentials.dto.ExpiryNotification;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Posts each notification as JSON to a configured endpoint, e.g. a mail or chat relay.
+ */
+public class WebhookExpiryNotificationSink implements ExpiryNotificationSink {
+
+    private final RestClient restClient;
+
+    public WebhookExpiryNotificationSink(RestClient.Builder builder, String url) {
+        this.restClient = builder.baseUrl(url).build();
+    }
+
+    @Override
+    public void deliver(ExpiryNotification notification) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(notification)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
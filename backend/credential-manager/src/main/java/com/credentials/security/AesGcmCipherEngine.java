@@ -0,0 +1,93 @@
+package com.credentials.security;
+
+import com.credentials.exception.CredentialProcessingException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * AES-GCM engine that builds the key spec once and recycles {@link Cipher}
+ * instances through a bounded pool, so the provider lookup is paid only when
+ * the pool is empty. Output layout is IV || ciphertext || tag.
+ */
+@Slf4j
+public class AesGcmCipherEngine {
+
+    static final String ALGORITHM = "AES/GCM/NoPadding";
+    static final int TAG_LENGTH_BIT = 128;
+    static final int IV_LENGTH_BYTE = 12;
+
+    private final SecretKeySpec keySpec;
+    private final SecureRandom random;
+    private final BlockingQueue<Cipher> pool;
+
+    public AesGcmCipherEngine(byte[] key, SecureRandom random, int poolSize) {
+        this.keySpec = new SecretKeySpec(key, "AES");
+        this.random = random;
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    public byte[] encrypt(byte[] plainText) {
+        byte[] iv = new byte[IV_LENGTH_BYTE];
+        random.nextBytes(iv);
+        Cipher cipher = borrow();
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, keySpec, new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+            byte[] combined = new byte[IV_LENGTH_BYTE + cipher.getOutputSize(plainText.length)];
+            System.arraycopy(iv, 0, combined, 0, IV_LENGTH_BYTE);
+            cipher.doFinal(plainText, 0, plainText.length, combined, IV_LENGTH_BYTE);
+            return combined;
+        } catch (GeneralSecurityException e) {
+            log.error("Encryption error: ", e);
+            throw new CredentialProcessingException("Encryption failed");
+        } finally {
+            release(cipher);
+        }
+    }
+
+    public byte[] decrypt(byte[] combined) {
+        if (combined.length < IV_LENGTH_BYTE) {
+            throw new CredentialProcessingException("Decryption failed");
+        }
+        Cipher cipher = borrow();
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, keySpec, new GCMParameterSpec(TAG_LENGTH_BIT, combined, 0, IV_LENGTH_BYTE));
+            return cipher.doFinal(combined, IV_LENGTH_BYTE, combined.length - IV_LENGTH_BYTE);
+        } catch (GeneralSecurityException e) {
+            log.error("Decryption error: ", e);
+            throw new CredentialProcessingException("Decryption failed");
+        } finally {
+            release(cipher);
+        }
+    }
+
+    int pooledCount() {
+        return pool.size();
+    }
+
+    private Cipher borrow() {
+        Cipher cipher = pool.poll();
+        if (cipher != null) {
+            return cipher;
+        }
+        try {
+            return Cipher.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            log.error("Cipher initialization error: ", e);
+            throw new CredentialProcessingException("Cipher initialization failed");
+        }
+    }
+
+    private void release(Cipher cipher) {
+        // Every call re-initializes the cipher, so a failed doFinal leaves nothing behind
+        pool.offer(cipher);
+    }
+}
@@ -0,0 +1,78 @@
+package com.credentials.security;
+
+import com.credentials.util.CredentialGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded queue of ready-made client secrets kept full by a background thread, so
+ * request threads take a secret instead of generating one. When the queue runs dry
+ * the caller generates inline and the miss is counted.
+ */
+@Slf4j
+@Component
+public class ClientSecretPool {
+
+    private final BlockingQueue<String> secrets;
+    private final Counter refills;
+    private final Counter misses;
+    private Thread refillThread;
+
+    public ClientSecretPool(@Value("${app.secret-pool.capacity:256}") int capacity, MeterRegistry meterRegistry) {
+        this.secrets = new ArrayBlockingQueue<>(capacity);
+        Gauge.builder("credentials.secret.pool.depth", secrets, BlockingQueue::size)
+                .description("Ready-made client secrets waiting in the pool")
+                .register(meterRegistry);
+        this.refills = Counter.builder("credentials.secret.pool.refills")
+                .description("Client secrets generated by the background refill thread")
+                .register(meterRegistry);
+        this.misses = Counter.builder("credentials.secret.pool.misses")
+                .description("Client secrets generated on the request thread because the pool was empty")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startRefill() {
+        refillThread = Thread.ofPlatform().name("secret-pool-refill").daemon().start(this::refillLoop);
+    }
+
+    @PreDestroy
+    void stopRefill() {
+        refillThread.interrupt();
+    }
+
+    public String take() {
+        String secret = secrets.poll();
+        if (secret != null) {
+            return secret;
+        }
+        misses.increment();
+        return CredentialGenerator.generateClientSecret();
+    }
+
+    public int depth() {
+        return secrets.size();
+    }
+
+    private void refillLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // put blocks while the pool is full, so the thread idles until secrets are taken
+                secrets.put(CredentialGenerator.generateClientSecret());
+                refills.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.debug("Secret pool refill thread stopped");
+    }
+}
@@ -0,0 +1,52 @@
+package com.credentials.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Immutable IV || ciphertext || tag blob produced by {@link AesGcmCipherEngine},
+ * persisted as raw bytes through {@link EncryptedSecretConverter}.
+ */
+public final class EncryptedSecret {
+
+    private final byte[] value;
+
+    private EncryptedSecret(byte[] value) {
+        this.value = value;
+    }
+
+    public static EncryptedSecret encrypt(String plainText) {
+        return new EncryptedSecret(EncryptionUtils.engine().encrypt(plainText.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static EncryptedSecret fromBytes(byte[] value) {
+        return value == null ? null : new EncryptedSecret(value.clone());
+    }
+
+    public String decrypt() {
+        return new String(EncryptionUtils.engine().decrypt(value), StandardCharsets.UTF_8);
+    }
+
+    public byte[] toBytes() {
+        return value.clone();
+    }
+
+    public int length() {
+        return value.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof EncryptedSecret other && Arrays.equals(value, other.value));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return "EncryptedSecret[" + value.length + " bytes]";
+    }
+}
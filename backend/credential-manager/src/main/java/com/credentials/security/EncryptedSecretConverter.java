@@ -0,0 +1,18 @@
+package com.credentials.security;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class EncryptedSecretConverter implements AttributeConverter<EncryptedSecret, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(EncryptedSecret attribute) {
+        return attribute == null ? null : attribute.toBytes();
+    }
+
+    @Override
+    public EncryptedSecret convertToEntityAttribute(byte[] dbData) {
+        return EncryptedSecret.fromBytes(dbData);
+    }
+}
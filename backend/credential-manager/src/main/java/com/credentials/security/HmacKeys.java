@@ -0,0 +1,33 @@
+package com.credentials.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * Builds the HMAC-SHA256 prototypes for configured keys. Keys have no default and must be at least as
+ * long as the digest, so a node never signs with a guessable key.
+ */
+final class HmacKeys {
+
+    static final String ALGORITHM = "HmacSHA256";
+    static final int MIN_KEY_BYTES = 32;
+
+    private HmacKeys() {
+    }
+
+    static Mac prototype(String property, String key) {
+        byte[] keyBytes = key == null ? new byte[0] : key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException(property + " must be set to a key of at least " + MIN_KEY_BYTES + " bytes");
+        }
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(keyBytes, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialize " + ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.credentials.security;
+
+import com.credentials.event.CachesStaleEvent;
+import com.credentials.event.MembershipChangedEvent;
+import com.credentials.service.impl.MembershipCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies short-lived, HMAC-signed membership tokens so the organization check needs
+ * no database access. A token is {@code base64url(payload).base64url(hmac)}, the payload holding
+ * the subject, user, email, organization ids, issue and expiry instants.
+ * <p>
+ * The issue instant is the token's revocation version: a membership change seen on this node, locally
+ * or through the invalidation bus, rejects the subject's tokens issued before it, and tokens issued
+ * before this node started or last flushed its caches are rejected for everyone. Rejected tokens fall
+ * back to the regular membership check, which then hands out a fresh token.
+ */
+@Component
+public class MembershipTokenService {
+
+    public static final String HEADER = "x-membership-token";
+
+    private static final String FORMAT = "m1";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Mac prototype;
+    private final Clock clock;
+    private final Duration ttl;
+    private final long skewMillis;
+    private final Cache<String, Long> revokedBefore;
+    private volatile long allRevokedBefore;
+
+    @Autowired
+    public MembershipTokenService(@Value("${app.membership-token.hmac-key:}") String hmacKey,
+                                  @Value("${app.membership-token.ttl:PT5M}") Duration ttl,
+                                  @Value("${app.membership-token.clock-skew:PT2S}") Duration clockSkew) {
+        this(hmacKey, ttl, clockSkew, Clock.systemUTC());
+    }
+
+    MembershipTokenService(String hmacKey, Duration ttl, Duration clockSkew, Clock clock) {
+        // A guessable key would let anyone sign memberships of their choosing
+        prototype = HmacKeys.prototype("app.membership-token.hmac-key", hmacKey);
+        this.clock = clock;
+        this.ttl = ttl;
+        // Node clocks differ, so revocations also cover tokens issued slightly after the change elsewhere
+        this.skewMillis = clockSkew.toMillis();
+        // Entries only need to outlive the tokens they reject
+        this.revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(ttl.plus(clockSkew))
+                .build();
+        // Changes made before this node was listening are unknown
+        this.allRevokedBefore = clock.millis() + skewMillis;
+    }
+
+    public String issue(String subjectId, UUID userId, String email, Collection<UUID> organizationIds) {
+        long issuedAt = clock.millis();
+        String payload = String.join("\n", FORMAT, subjectId, userId.toString(), email == null ? "" : email,
+                Long.toString(issuedAt), Long.toString(issuedAt + ttl.toMillis()),
+                organizationIds.stream().map(UUID::toString).collect(Collectors.joining(",")));
+        String encoded = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encoded + '.' + ENCODER.encodeToString(sign(encoded));
+    }
+
+    /**
+     * @return the memberships carried by a valid, unexpired and unrevoked token issued to {@code subjectId}
+     */
+    public Optional<MembershipCache.Membership> verify(String token, String subjectId) {
+        int dot = token.indexOf('.');
+        if (dot < 1) {
+            return Optional.empty();
+        }
+        try {
+            String encoded = token.substring(0, dot);
+            if (!MessageDigest.isEqual(sign(encoded), DECODER.decode(token.substring(dot + 1)))) {
+                return Optional.empty();
+            }
+            String[] fields = new String(DECODER.decode(encoded), StandardCharsets.UTF_8).split("\n", -1);
+            if (fields.length != 7 || !FORMAT.equals(fields[0]) || !fields[1].equals(subjectId)) {
+                return Optional.empty();
+            }
+            long issuedAt = Long.parseLong(fields[4]);
+            long expiresAt = Long.parseLong(fields[5]);
+            Long subjectRevokedBefore = revokedBefore.getIfPresent(subjectId);
+            if (expiresAt <= clock.millis() || issuedAt < allRevokedBefore
+                    || (subjectRevokedBefore != null && issuedAt < subjectRevokedBefore)) {
+                return Optional.empty();
+            }
+            Set<UUID> organizationIds = fields[6].isEmpty() ? Set.of() : Arrays.stream(fields[6].split(","))
+                    .map(UUID::fromString)
+                    .collect(Collectors.toUnmodifiableSet());
+            return Optional.of(new MembershipCache.Membership(UUID.fromString(fields[2]),
+                    fields[3].isEmpty() ? null : fields[3], organizationIds));
+        } catch (IllegalArgumentException e) {
+            // Garbled tokens are rejected like forged ones
+            return Optional.empty();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        revokedBefore.put(event.subjectId(), clock.millis() + skewMillis);
+    }
+
+    @EventListener
+    public void onCachesStale(CachesStaleEvent event) {
+        allRevokedBefore = clock.millis() + skewMillis;
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(HmacKeys.ALGORITHM + " cannot be cloned", e);
+        }
+    }
+}
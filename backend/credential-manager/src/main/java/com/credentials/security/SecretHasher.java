@@ -0,0 +1,40 @@
+package com.credentials.security;
+
+import com.credentials.exception.CredentialProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Keyed HMAC-SHA256 digest of client secrets, stored next to the ciphertext so a
+ * presented secret can be verified without decrypting the stored one.
+ */
+@Slf4j
+@Component
+public class SecretHasher {
+
+    // Initialized once; each digest works on a clone so the key schedule is not recomputed
+    private final Mac prototype;
+
+    public SecretHasher(@Value("${app.verification.hmac-key:}") String hmacKey) {
+        prototype = HmacKeys.prototype("app.verification.hmac-key", hmacKey);
+    }
+
+    public byte[] hash(String secret) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            log.error("Hashing error: ", e);
+            throw new CredentialProcessingException("Secret hashing failed");
+        }
+    }
+
+    public boolean matches(String presentedSecret, byte[] storedHash) {
+        return storedHash != null && MessageDigest.isEqual(hash(presentedSecret), storedHash);
+    }
+}
@@ -1,17 +1,37 @@
 package com.credentials.service;
 
+import com.credentials.dto.CredentialPage;
 import com.credentials.dto.CredentialRequest;
 import com.credentials.dto.CredentialResponse;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface CredentialService {
 
     CredentialResponse getById(UUID credentialId);
 
-    CredentialResponse create(CredentialRequest request);
+    CredentialPage listForSelectedOrganization(String cursor, int size);
+
+    // Rows are written as newline-delimited JSON while the database cursor is read, with masked secrets only
+    StreamingResponseBody exportForSelectedOrganization();
+
+    default CredentialResponse create(CredentialRequest request) {
+        return create(request, null);
+    }
+
+    // Repeating a call with the same idempotencyKey returns the first call's response instead of creating again
+    CredentialResponse create(CredentialRequest request, String idempotencyKey);
+
+    List<CredentialResponse> createAll(List<CredentialRequest> requests);
 
     void delete(UUID credentialId);
 
-    CredentialResponse resetSecret(UUID credentialId);
+    default CredentialResponse resetSecret(UUID credentialId) {
+        return resetSecret(credentialId, null);
+    }
+
+    // expectedVersion, when given, makes the reset fail with a conflict if the credential changed since it was read
+    CredentialResponse resetSecret(UUID credentialId, Long expectedVersion);
 }
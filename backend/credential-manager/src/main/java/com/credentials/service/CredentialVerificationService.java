@@ -0,0 +1,11 @@
+package com.credentials.service;
+
+import com.credentials.dto.CredentialVerificationRequest;
+import com.credentials.dto.CredentialVerificationResponse;
+
+public interface CredentialVerificationService {
+
+    CredentialVerificationResponse verify(CredentialVerificationRequest request);
+
+    void evict(String clientId);
+}
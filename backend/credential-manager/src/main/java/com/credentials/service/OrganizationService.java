@@ -0,0 +1,9 @@
+package com.credentials.service;
+
+import com.credentials.dto.OrganizationPage;
+
+public interface OrganizationService {
+
+    // Case-insensitive substring match on name, VAT number and SAP id, ordered by name
+    OrganizationPage search(String query, String cursor, int size);
+}
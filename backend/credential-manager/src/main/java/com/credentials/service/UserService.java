@@ -3,6 +3,7 @@ package com.credentials.service;
 import com.credentials.dto.LoginResponse;
 import com.credentials.dto.UserDto;
 import com.credentials.dto.UserLoginRequest;
+import com.credentials.dto.UserPage;
 
 import java.util.List;
 import java.util.UUID;
@@ -13,4 +14,6 @@ public interface UserService {
     UserDto getUserById(UUID userId);
 
     List<UserDto> getAllUsers();
+
+    UserPage listUsers(String cursor, int size);
 }
@@ -1,29 +1,61 @@
 package com.credentials.service.impl;
 
 import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.bootstrap.RequestIdentityResolver;
+import com.credentials.dto.CredentialPage;
 import com.credentials.dto.CredentialRequest;
 import com.credentials.dto.CredentialResponse;
+import com.credentials.dto.CredentialSummary;
+import com.credentials.dto.ExpiryNotification;
+import com.credentials.dto.RequestIdentity;
 import com.credentials.dto.RequestUserContext;
 import com.credentials.entity.Credential;
 import com.credentials.entity.Organization;
 import com.credentials.entity.User;
+import com.credentials.event.CredentialChangedEvent;
+import com.credentials.exception.CredentialConflictException;
 import com.credentials.exception.CredentialNotFoundException;
 import com.credentials.exception.CredentialProcessingException;
 import com.credentials.exception.UserNotFoundException;
 import com.credentials.mapper.CredentialMapper;
 import com.credentials.repo.CredentialRepository;
+import com.credentials.repo.CredentialResetResult;
 import com.credentials.repo.OrganizationRepository;
 import com.credentials.repo.UserRepository;
-import com.credentials.security.EncryptionUtils;
+import com.credentials.scheduler.ExpiryNotificationScheduler;
+import com.credentials.security.ClientSecretPool;
+import com.credentials.security.EncryptedSecret;
+import com.credentials.security.SecretHasher;
 import com.credentials.service.CredentialService;
-import com.credentials.util.CredentialGenerator;
+import com.credentials.util.KeysetCursor;
+import com.credentials.util.MaskingUtil;
+import com.credentials.util.UuidV7;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.credentials.util.TransactionCallbacks.afterCommit;
 
 @Slf4j
 @Service
@@ -34,72 +66,235 @@ public class CredentialServiceImpl implements CredentialService {
     private final UserRepository userRepo;
     private final OrganizationRepository organizationRepo;
     private final CredentialMapper credentialMapper;
+    private final SecretHasher secretHasher;
+    private final ClientSecretPool secretPool;
+    private final ExpiryNotificationScheduler expiryScheduler;
+    private final IdempotencyStore idempotencyStore;
+    private final RequestIdentityResolver identityResolver;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
 
     @Override
+    @Transactional(readOnly = true)
     public CredentialResponse getById(UUID credentialId) {
         Credential credential = validateUserOwnsCredential(credentialId, RequestContextHolder.get().getSubjectId());
         return credentialMapper.toDto(credential);
     }
 
     @Override
-    public CredentialResponse create(CredentialRequest request) {
-        RequestUserContext reqUserCtx = RequestContextHolder.get();
-        String subjectId = reqUserCtx.getSubjectId();
-        if(StringUtils.isEmpty(reqUserCtx.getSelectedOrgId()))
+    @Transactional(readOnly = true)
+    public CredentialPage listForSelectedOrganization(String cursor, int size) {
+        UUID orgId = identityResolver.resolve().organizationId();
+        if (orgId == null)
+            throw new IllegalArgumentException("User has not selected the Organization context, its required to list credentials");
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+
+        // Fetch one extra row to learn whether another page follows
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<CredentialSummary> rows;
+        if (StringUtils.isEmpty(cursor)) {
+            rows = credentialRepo.findFirstPageByOrganization(orgId, limit);
+        } else {
+            PageKey after = KeysetCursor.decode(cursor, 2,
+                    parts -> new PageKey(OffsetDateTime.parse(parts[0]), UUID.fromString(parts[1])));
+            rows = credentialRepo.findPageByOrganizationAfter(orgId, after.creationDate(), after.id(), limit);
+        }
+        if (rows.size() <= size) {
+            return new CredentialPage(rows, null);
+        }
+        List<CredentialSummary> page = rows.subList(0, size);
+        CredentialSummary last = page.get(size - 1);
+        return new CredentialPage(page, KeysetCursor.encode(last.creationDate().toString(), last.id().toString()));
+    }
+
+    @Override
+    public StreamingResponseBody exportForSelectedOrganization() {
+        UUID orgId = identityResolver.resolve().organizationId();
+        if (orgId == null)
+            throw new IllegalArgumentException("User has not selected the Organization context, its required to export credentials");
+
+        // The body is written on an async thread after the request thread returns, so the read-only
+        // transaction holding the cursor open is started there rather than around this method
+        return out -> {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> writeNdjson(orgId, out));
+        };
+    }
+
+    private void writeNdjson(UUID orgId, OutputStream out) {
+        try (Stream<CredentialSummary> rows = credentialRepo.streamByOrganization(orgId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            int written = 0;
+            for (CredentialSummary row : (Iterable<CredentialSummary>) rows::iterator) {
+                generator.writeObject(row);
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Credential export aborted", e);
+        }
+    }
+
+    @Override
+    public CredentialResponse create(CredentialRequest request, String idempotencyKey) {
+        if (idempotencyKey == null)
+            return createCredential(request);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        RequestUserContext context = RequestContextHolder.get();
+        return idempotencyStore.execute(context.getSubjectId(), idempotencyKey,
+                requestHash(context.getSelectedOrgId(), request), () -> createCredential(request));
+    }
+
+    private CredentialResponse createCredential(CredentialRequest request) {
+        RequestIdentity identity = identityResolver.resolve();
+        Organization organization = resolveSelectedOrganization(identity);
+        User user = resolveRequestUser(identity);
+
+        String clientCredential = secretPool.take();
+        Credential savedCredential = credentialRepo.save(newCredential(request, clientCredential, user, organization));
+        ExpiryNotification notification = expiryNotification(savedCredential, identity.email());
+        afterCommit(() -> expiryScheduler.schedule(notification));
+        return credentialMapper.toUnMaskedDto(savedCredential, clientCredential);
+    }
+
+    @Override
+    @Transactional
+    public List<CredentialResponse> createAll(List<CredentialRequest> requests) {
+        RequestIdentity identity = identityResolver.resolve();
+        Organization organization = resolveSelectedOrganization(identity);
+        User user = resolveRequestUser(identity);
+
+        // Secret generation and encryption are CPU bound and independent, so they run in parallel;
+        // the inserts are then sent together as JDBC batches when the transaction flushes
+        List<GeneratedCredential> generated = requests.parallelStream()
+                .map(request -> {
+                    String clientCredential = secretPool.take();
+                    return new GeneratedCredential(newCredential(request, clientCredential, user, organization), clientCredential);
+                })
+                .toList();
+        credentialRepo.saveAll(generated.stream().map(GeneratedCredential::credential).toList());
+        List<ExpiryNotification> notifications = generated.stream()
+                .map(created -> expiryNotification(created.credential(), identity.email()))
+                .toList();
+        afterCommit(() -> notifications.forEach(expiryScheduler::schedule));
+        return generated.stream()
+                .map(created -> credentialMapper.toUnMaskedDto(created.credential(), created.clientSecret()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void delete(UUID credentialId) {
+        String subjectId = RequestContextHolder.get().getSubjectId();
+        String clientId = credentialRepo.deleteOwned(credentialId, subjectId)
+                .orElseThrow(() -> ownershipFailure(credentialId, subjectId, null));
+        eventPublisher.publishEvent(new CredentialChangedEvent(clientId));
+        afterCommit(() -> expiryScheduler.cancel(credentialId));
+    }
+
+    @Override
+    @Transactional
+    public CredentialResponse resetSecret(UUID credentialId, Long expectedVersion) {
+        String subjectId = RequestContextHolder.get().getSubjectId();
+        String newClientSecret = secretPool.take();
+        EncryptedSecret encryptedSecret;
+        try {
+            encryptedSecret = EncryptedSecret.encrypt(newClientSecret);
+        } catch (Exception e) {
+            log.error("Error encrypting client secret: {}", e.getMessage());
+            throw new CredentialProcessingException(e.getMessage());
+        }
+        CredentialResetResult reset = credentialRepo.resetOwnedSecret(credentialId, subjectId, encryptedSecret,
+                        MaskingUtil.mask(newClientSecret), secretHasher.hash(newClientSecret), expectedVersion)
+                .orElseThrow(() -> ownershipFailure(credentialId, subjectId, expectedVersion));
+        eventPublisher.publishEvent(new CredentialChangedEvent(reset.clientId()));
+        afterCommit(() -> expiryScheduler.reschedule(reset.id(), reset.expiryDate()));
+        return new CredentialResponse(reset.id(), reset.clientId(), newClientSecret, reset.name(), reset.version());
+    }
+
+    // The identity was resolved with the memberships, so both are bound as references without selecting them again
+    private User resolveRequestUser(RequestIdentity identity) {
+        if (!identity.registered())
+            throw new UserNotFoundException("User not found for subject ID: " + RequestContextHolder.get().getSubjectId());
+        return userRepo.getReferenceById(identity.userId());
+    }
+
+    private Organization resolveSelectedOrganization(RequestIdentity identity) {
+        UUID orgId = identity.organizationId();
+        if (orgId == null)
             throw new IllegalArgumentException("User has not selected the Organization context, its required to create credential");
-        User user = userRepo.findBySubjectId(subjectId)
-                .orElseThrow(() -> new UserNotFoundException("User not found for subject ID: " + subjectId));
-        Organization organization = organizationRepo.findById(UUID.fromString(reqUserCtx.getSelectedOrgId()))
-                .orElseThrow(() -> new IllegalArgumentException("Organization not found for ID: " + reqUserCtx.getSelectedOrgId()));
+        if (!identity.isMemberOf(orgId))
+            throw new IllegalArgumentException("Organization not found for ID: " + orgId);
+        return organizationRepo.getReferenceById(orgId);
+    }
 
-        // create credential logic here
+    private Credential newCredential(CredentialRequest request, String clientCredential, User user, Organization organization) {
         Credential credential = new Credential();
-        String clientCredential = CredentialGenerator.generateClientSecret();
         try {
-            credential.setClientSecret(EncryptionUtils.encrypt(clientCredential));
+            credential.setClientSecret(EncryptedSecret.encrypt(clientCredential));
+            credential.setClientSecretHint(MaskingUtil.mask(clientCredential));
+            credential.setClientSecretHash(secretHasher.hash(clientCredential));
         } catch (Exception e) {
             log.error("Error encrypting client secret: {}", e.getMessage());
             throw new CredentialProcessingException(e.getMessage());
         }
-        credential.setClientId(UUID.randomUUID().toString());
+        credential.setClientId(UuidV7.randomUuid().toString());
         credential.setName(request.name());
         credential.setCreationDate(OffsetDateTime.now());
         credential.setExpiryDate(OffsetDateTime.now().plusDays(request.validityInDays()));
         credential.setCreatedBy(user);
         credential.setOrganization(organization);
-        Credential savedCredential = credentialRepo.save(credential);
-        return credentialMapper.toUnMaskedDto(savedCredential);
-    }
-
-    @Override
-    public void delete(UUID credentialId) {
-        validateUserOwnsCredential(credentialId, RequestContextHolder.get().getSubjectId());
-        credentialRepo.deleteById(credentialId);
+        return credential;
     }
 
-    @Override
-    public CredentialResponse resetSecret(UUID credentialId) {
-        Credential credential = validateUserOwnsCredential(credentialId, RequestContextHolder.get().getSubjectId());
-        String newClientSecret = CredentialGenerator.generateClientSecret();
+    private static byte[] requestHash(String selectedOrgId, CredentialRequest request) {
         try {
-            credential.setClientSecret(EncryptionUtils.encrypt(newClientSecret));
-        } catch (Exception e) {
-            log.error("Error encrypting client secret: {}", e.getMessage());
-            throw new CredentialProcessingException(e.getMessage());
+            return MessageDigest.getInstance("SHA-256").digest((selectedOrgId + '\n' + request.name() + '\n' +
+                    request.validityInDays()).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
-        Credential credReset = credentialRepo.save(credential);
-        return credentialMapper.toUnMaskedDto(credReset);
+    }
+
+    private static ExpiryNotification expiryNotification(Credential credential, String ownerEmail) {
+        return new ExpiryNotification(credential.getId(), credential.getClientId(), credential.getName(),
+                credential.getOrganization().getId(), ownerEmail, credential.getExpiryDate());
     }
 
     private Credential validateUserOwnsCredential(UUID credentialId, String subjectId) {
-        Credential credential = credentialRepo.findById(credentialId)
-                .orElseThrow(() -> new CredentialNotFoundException("Credential not found for ID: " + credentialId));
-        User user = userRepo.findBySubjectId(subjectId)
-                .orElseThrow(() -> new UserNotFoundException("User not found for subject ID: " + subjectId));
-        if (!credential.getCreatedBy().getId().equals(user.getId())) {
-            throw new CredentialProcessingException("User is not authorized to delete this credential");
+        return credentialRepo.findOwnedBySubjectId(credentialId, subjectId)
+                .orElseThrow(() -> ownershipFailure(credentialId, subjectId, null));
+    }
+
+    // Only the error path pays for extra queries to tell why the ownership-checked statement matched nothing
+    private RuntimeException ownershipFailure(UUID credentialId, String subjectId, Long expectedVersion) {
+        if (!credentialRepo.existsById(credentialId)) {
+            return new CredentialNotFoundException("Credential not found for ID: " + credentialId);
         }
-        return credential;
+        if (expectedVersion != null && credentialRepo.existsByIdAndCreatedBySubjectId(credentialId, subjectId)) {
+            return new CredentialConflictException("Credential " + credentialId + " was modified concurrently, " +
+                    "expected version " + expectedVersion);
+        }
+        return new CredentialProcessingException("User is not authorized to access this credential");
     }
 
+    private record GeneratedCredential(Credential credential, String clientSecret) {
+    }
+
+    private record PageKey(OffsetDateTime creationDate, UUID id) {
+    }
 }
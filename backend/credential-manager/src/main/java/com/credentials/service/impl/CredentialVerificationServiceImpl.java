@@ -0,0 +1,133 @@
+package com.credentials.service.impl;
+
+import com.credentials.dto.CredentialVerificationRequest;
+import com.credentials.dto.CredentialVerificationResponse;
+import com.credentials.event.CachesStaleEvent;
+import com.credentials.event.CredentialChangedEvent;
+import com.credentials.repo.CredentialRepository;
+import com.credentials.repo.CredentialVerificationView;
+import com.credentials.security.SecretHasher;
+import com.credentials.service.CredentialVerificationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies client credentials against the stored HMAC of the secret. Successfully
+ * verified clients are kept in a bounded, TTL-based cache so hot clients never reach
+ * the database; the cache only ever holds the hash, never the secret.
+ */
+@Slf4j
+@Service
+public class CredentialVerificationServiceImpl implements CredentialVerificationService {
+
+    private final CredentialRepository credentialRepo;
+    private final SecretHasher secretHasher;
+    private final Cache<String, VerifiedClient> verifiedClients;
+    // Bumped on every eviction, a client verified across one is not cached since its row may have changed
+    private final AtomicLong generation = new AtomicLong();
+
+    public CredentialVerificationServiceImpl(CredentialRepository credentialRepo,
+                                             SecretHasher secretHasher,
+                                             @Value("${app.verification.cache.max-size:10000}") long maxSize,
+                                             @Value("${app.verification.cache.ttl:PT5M}") Duration ttl) {
+        this.credentialRepo = credentialRepo;
+        this.secretHasher = secretHasher;
+        this.verifiedClients = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public CredentialVerificationResponse verify(CredentialVerificationRequest request) {
+        String clientId = request.clientId();
+        byte[] presentedHash = secretHasher.hash(request.clientSecret());
+
+        VerifiedClient cached = verifiedClients.getIfPresent(clientId);
+        if (cached != null && MessageDigest.isEqual(presentedHash, cached.secretHash())) {
+            return cached.isExpired() ? CredentialVerificationResponse.invalid(clientId) : cached.toResponse(clientId);
+        }
+
+        long loadedAt = generation.get();
+        Optional<CredentialVerificationView> stored = credentialRepo.findVerificationByClientId(clientId);
+        if (stored.isEmpty()) {
+            return CredentialVerificationResponse.invalid(clientId);
+        }
+        CredentialVerificationView credential = stored.get();
+        byte[] storedHash = credential.getClientSecretHash();
+        boolean matches = storedHash != null
+                ? MessageDigest.isEqual(presentedHash, storedHash)
+                : matchesByDecryption(credential, request.clientSecret());
+        if (!matches) {
+            return CredentialVerificationResponse.invalid(clientId);
+        }
+
+        VerifiedClient verified = new VerifiedClient(credential.getOrganizationId(), presentedHash, credential.getExpiryDate());
+        if (verified.isExpired()) {
+            return CredentialVerificationResponse.invalid(clientId);
+        }
+        if (generation.get() == loadedAt) {
+            verifiedClients.put(clientId, verified);
+            // An eviction that ran between the check and the put must not be undone
+            if (generation.get() != loadedAt) {
+                verifiedClients.invalidate(clientId);
+            }
+        }
+        return verified.toResponse(clientId);
+    }
+
+    @Override
+    public void evict(String clientId) {
+        generation.incrementAndGet();
+        verifiedClients.invalidate(clientId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCredentialChanged(CredentialChangedEvent event) {
+        evict(event.clientId());
+    }
+
+    @EventListener
+    public void onCachesStale(CachesStaleEvent event) {
+        generation.incrementAndGet();
+        verifiedClients.invalidateAll();
+    }
+
+    // Rows created before the hash column existed and not yet backfilled
+    private boolean matchesByDecryption(CredentialVerificationView credential, String presentedSecret) {
+        if (credential.getClientSecret() == null) {
+            return false;
+        }
+        try {
+            return MessageDigest.isEqual(secretHasher.hash(credential.getClientSecret().decrypt()),
+                    secretHasher.hash(presentedSecret));
+        } catch (RuntimeException e) {
+            log.warn("Could not decrypt secret of credential {} during verification", credential.getId());
+            return false;
+        }
+    }
+
+    private record VerifiedClient(UUID organizationId, byte[] secretHash, OffsetDateTime expiryDate) {
+
+        boolean isExpired() {
+            return expiryDate != null && expiryDate.isBefore(OffsetDateTime.now());
+        }
+
+        CredentialVerificationResponse toResponse(String clientId) {
+            return new CredentialVerificationResponse(true, clientId, organizationId);
+        }
+    }
+}
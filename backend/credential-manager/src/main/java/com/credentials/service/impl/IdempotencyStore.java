@@ -0,0 +1,142 @@
+package com.credentials.service.impl;
+
+import com.credentials.dto.CredentialResponse;
+import com.credentials.entity.IdempotencyRecord;
+import com.credentials.exception.CredentialConflictException;
+import com.credentials.repo.IdempotencyRecordRepository;
+import com.credentials.security.EncryptedSecret;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a credential creation at most once per (subject, Idempotency-Key). Results live in the
+ * idempotency_key table, written in the creation's transaction so other nodes and restarts see them too,
+ * and for a few minutes in a bounded in-memory cache, which holds plaintext secrets and so only covers
+ * quick retries. Concurrent duplicates on this node wait for the first execution.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository recordRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final AsyncCache<String, StoredResponse> responses;
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepo,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.idempotency.cache.max-size:10000}") long maxSize,
+                            @Value("${app.idempotency.cache.ttl:PT5M}") Duration cacheTtl,
+                            @Value("${app.idempotency.ttl:P1D}") Duration ttl) {
+        this.recordRepo = recordRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(cacheTtl.compareTo(ttl) < 0 ? cacheTtl : ttl)
+                .buildAsync();
+    }
+
+    public CredentialResponse execute(String subjectId, String idempotencyKey, byte[] requestHash,
+                                      Supplier<CredentialResponse> creation) {
+        String cacheKey = subjectId + '\n' + idempotencyKey;
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> inFlight = responses.asMap().putIfAbsent(cacheKey, execution);
+        if (inFlight != null) {
+            return await(inFlight).matching(requestHash);
+        }
+        try {
+            StoredResponse stored = findRecorded(subjectId, idempotencyKey)
+                    .orElseGet(() -> createAndRecord(subjectId, idempotencyKey, requestHash, creation));
+            execution.complete(stored);
+            return stored.matching(requestHash);
+        } catch (RuntimeException e) {
+            // Failures are not remembered, waiting duplicates see the error and a later retry runs again
+            responses.asMap().remove(cacheKey, execution);
+            execution.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = recordRepo.deleteCreatedBefore(OffsetDateTime.now().minus(ttl));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private StoredResponse createAndRecord(String subjectId, String idempotencyKey, byte[] requestHash,
+                                           Supplier<CredentialResponse> creation) {
+        try {
+            return transactionTemplate.execute(status -> {
+                CredentialResponse response = creation.get();
+                recordRepo.saveAndFlush(toRecord(subjectId, idempotencyKey, requestHash, response));
+                return new StoredResponse(requestHash, response);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node committed the same key first, its credential is the one to return
+            return findRecorded(subjectId, idempotencyKey).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<StoredResponse> findRecorded(String subjectId, String idempotencyKey) {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(ttl);
+        return recordRepo.findBySubjectIdAndIdempotencyKey(subjectId, idempotencyKey)
+                .filter(stored -> stored.getCreatedAt().isAfter(cutoff))
+                .map(stored -> new StoredResponse(stored.getRequestHash(), new CredentialResponse(stored.getCredentialId(),
+                        stored.getClientId(), stored.getClientSecret().decrypt(), stored.getName(),
+                        stored.getCredentialVersion())));
+    }
+
+    private static IdempotencyRecord toRecord(String subjectId, String idempotencyKey, byte[] requestHash,
+                                              CredentialResponse response) {
+        IdempotencyRecord stored = new IdempotencyRecord();
+        stored.setSubjectId(subjectId);
+        stored.setIdempotencyKey(idempotencyKey);
+        stored.setRequestHash(requestHash);
+        stored.setCredentialId(response.id());
+        stored.setClientId(response.clientId());
+        stored.setName(response.name());
+        stored.setClientSecret(EncryptedSecret.encrypt(response.clientSecret()));
+        stored.setCredentialVersion(response.version());
+        stored.setCreatedAt(OffsetDateTime.now());
+        return stored;
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record StoredResponse(byte[] requestHash, CredentialResponse response) {
+
+        CredentialResponse matching(byte[] presentedHash) {
+            if (!MessageDigest.isEqual(requestHash, presentedHash)) {
+                throw new CredentialConflictException("Idempotency-Key was already used for a different request");
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.credentials.service.impl;
+
+import com.credentials.dto.LoginProfile;
+import com.credentials.event.CachesStaleEvent;
+import com.credentials.event.MembershipChangedEvent;
+import com.credentials.event.OrganizationsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.credentials.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Subject-keyed cache of login profiles. Entries are dropped after commit of any change to the
+ * user's memberships or to organizations; exposed as the {@code login.profiles} cache metrics.
+ */
+@Component
+public class LoginProfileCache {
+
+    private final Cache<String, LoginProfile> profiles;
+    // Bumped on every invalidation, a profile loaded across one is not cached since it may be stale
+    private final AtomicLong generation = new AtomicLong();
+
+    public LoginProfileCache(MeterRegistry meterRegistry,
+                             @Value("${app.login-profile.cache.max-size:50000}") long maxSize,
+                             @Value("${app.login-profile.cache.ttl:PT15M}") Duration ttl) {
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "login.profiles");
+    }
+
+    public Optional<LoginProfile> get(String subjectId) {
+        return Optional.ofNullable(profiles.getIfPresent(subjectId));
+    }
+
+    /**
+     * Loads the profile and caches it once the surrounding transaction, if any, has committed.
+     */
+    public Optional<LoginProfile> load(String subjectId, Supplier<Optional<LoginProfile>> loader) {
+        long loadedAt = generation.get();
+        Optional<LoginProfile> profile = loader.get();
+        profile.ifPresent(loaded -> afterCommit(() -> {
+            if (generation.get() == loadedAt) {
+                profiles.put(subjectId, loaded);
+            }
+        }));
+        return profile;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        generation.incrementAndGet();
+        profiles.invalidate(event.subjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrganizationsChanged(OrganizationsChangedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onCachesStale(CachesStaleEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        profiles.invalidateAll();
+    }
+}
@@ -0,0 +1,115 @@
+package com.credentials.service.impl;
+
+import com.credentials.entity.Organization;
+import com.credentials.event.CachesStaleEvent;
+import com.credentials.event.MembershipChangedEvent;
+import com.credentials.event.OrganizationsChangedEvent;
+import com.credentials.repo.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Subject-keyed cache of organization memberships, including for subjects that have no user yet.
+ * Entries are dropped after commit of any change to the user's memberships or to organizations.
+ */
+@Component
+public class MembershipCache {
+
+    private final UserRepository userRepo;
+    private final AsyncCache<String, Membership> memberships;
+
+    public MembershipCache(UserRepository userRepo,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.membership.cache.max-size:50000}") long maxSize,
+                           @Value("${app.membership.cache.ttl:PT5M}") Duration ttl) {
+        this.userRepo = userRepo;
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, memberships, "organization.memberships");
+        Gauge.builder("credentials.membership.cache.hit.ratio", memberships, cache -> cache.synchronous().stats().hitRate())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Concurrent misses for a subject share one load, which runs on the calling thread outside the
+     * cache's locks, so a virtual thread waiting on the database does not pin its carrier. A load
+     * racing with an invalidation of the same subject is discarded once it completes.
+     */
+    public Membership get(String subjectId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The transaction may see its own uncommitted membership changes, so such loads are not shared
+            CompletableFuture<Membership> cached = memberships.getIfPresent(subjectId);
+            return cached != null ? cached.join() : load(subjectId);
+        }
+        CompletableFuture<Membership> loading = new CompletableFuture<>();
+        CompletableFuture<Membership> membership = memberships.get(subjectId, (key, executor) -> loading);
+        if (membership != loading) {
+            return membership.join();
+        }
+        try {
+            Membership loaded = load(subjectId);
+            loading.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public boolean isCached(String subjectId) {
+        return memberships.synchronous().asMap().containsKey(subjectId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        memberships.synchronous().invalidate(event.subjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrganizationsChanged(OrganizationsChangedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onCachesStale(CachesStaleEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        memberships.synchronous().invalidateAll();
+    }
+
+    private Membership load(String subjectId) {
+        return userRepo.findWithOrganizationsBySubjectId(subjectId)
+                .map(user -> new Membership(user.getId(), user.getEmail(), user.getOrganizations().stream()
+                        .map(Organization::getId)
+                        .collect(Collectors.toUnmodifiableSet())))
+                .orElse(Membership.UNREGISTERED);
+    }
+
+    /**
+     * @param userId null for subjects that have not completed their first login
+     */
+    public record Membership(UUID userId, String email, Set<UUID> organizationIds) {
+
+        static final Membership UNREGISTERED = new Membership(null, null, Set.of());
+    }
+}
@@ -0,0 +1,134 @@
+package com.credentials.service.impl;
+
+import com.credentials.dto.OrganizationDto;
+import com.credentials.dto.OrganizationPage;
+import com.credentials.event.CachesStaleEvent;
+import com.credentials.event.OrganizationsChangedEvent;
+import com.credentials.mapper.OrganizationMapper;
+import com.credentials.repo.OrganizationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Immutable, pre-serialized snapshot of all organizations. It is built on first use after a
+ * change to any organization, so readers never scan or map the table themselves.
+ */
+@Slf4j
+@Component
+public class OrganizationCatalog {
+
+    private final OrganizationRepository orgRepo;
+    private final OrganizationMapper organizationMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate primaryRead;
+    private final int firstPageSize;
+    private final AtomicLong versions = new AtomicLong();
+    // Bumped on every change, a snapshot built across one is returned but not kept
+    private final AtomicLong generation = new AtomicLong();
+    // Not a monitor: the rebuild queries the database, and virtual threads blocked inside synchronized pin their carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot current;
+
+    public OrganizationCatalog(OrganizationRepository orgRepo, OrganizationMapper organizationMapper, ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.login.first-page-size:50}") int firstPageSize) {
+        this.orgRepo = orgRepo;
+        this.organizationMapper = organizationMapper;
+        this.objectMapper = objectMapper;
+        // Not read-only, so it reads the primary: a snapshot built from a lagging replica would be kept until the next change
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.firstPageSize = firstPageSize;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current;
+        return snapshot != null ? snapshot : rebuild();
+    }
+
+    /**
+     * First page of the catalog in search order, continued through organization search with the returned cursor.
+     */
+    public OrganizationPage firstPage() {
+        List<OrganizationDto> organizations = snapshot().organizations();
+        if (organizations.size() <= firstPageSize) {
+            return new OrganizationPage(organizations, null);
+        }
+        List<OrganizationDto> page = organizations.subList(0, firstPageSize);
+        return new OrganizationPage(page, OrganizationServiceImpl.nextCursor(page.get(firstPageSize - 1)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrganizationsChanged(OrganizationsChangedEvent event) {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    @EventListener
+    public void onCachesStale(CachesStaleEvent event) {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    private Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            Snapshot snapshot = current;
+            return snapshot != null ? snapshot : build();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot build() {
+        Snapshot snapshot;
+        long builtAt = generation.get();
+        List<OrganizationDto> organizations = primaryRead.execute(status -> orgRepo.findAll(Sort.by("name", "id")).stream()
+                .map(organizationMapper::toDto)
+                .toList());
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(organizations);
+            snapshot = new Snapshot(versions.incrementAndGet(), organizations, json, contentTag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Organization catalog could not be serialized", e);
+        }
+        if (generation.get() == builtAt) {
+            current = snapshot;
+            log.debug("Organization catalog version {} built with {} organizations", snapshot.version(), organizations.size());
+        }
+        return snapshot;
+    }
+
+    // Derived from the content, so every node serves the same tag for the same catalog
+    private static String contentTag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 12));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @param version local, monotonically increasing build number
+     * @param json    the organizations serialized once, served as-is
+     */
+    public record Snapshot(long version, List<OrganizationDto> organizations, byte[] json, String etag) {
+    }
+}
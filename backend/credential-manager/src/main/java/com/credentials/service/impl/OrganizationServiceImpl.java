@@ -0,0 +1,55 @@
+package com.credentials.service.impl;
+
+import com.credentials.dto.OrganizationDto;
+import com.credentials.dto.OrganizationPage;
+import com.credentials.entity.Organization;
+import com.credentials.mapper.OrganizationMapper;
+import com.credentials.repo.OrganizationRepository;
+import com.credentials.service.OrganizationService;
+import com.credentials.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class OrganizationServiceImpl implements OrganizationService {
+
+    private final OrganizationRepository orgRepo;
+    private final OrganizationMapper organizationMapper;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Override
+    public OrganizationPage search(String query, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        String pattern = "%" + escapeLike(StringUtils.trimToEmpty(query).toLowerCase(Locale.ROOT)) + "%";
+
+        // Fetch one extra row to learn whether another page follows
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Organization> rows;
+        if (StringUtils.isEmpty(cursor)) {
+            rows = orgRepo.searchFirstPage(pattern, limit);
+        } else {
+            String[] after = KeysetCursor.decode(cursor, 2);
+            rows = orgRepo.searchPageAfter(pattern, after[0], UUID.fromString(after[1]), limit);
+        }
+        List<OrganizationDto> items = rows.stream().limit(size).map(organizationMapper::toDto).toList();
+        return new OrganizationPage(items, rows.size() > size ? nextCursor(items.get(size - 1)) : null);
+    }
+
+    // Same cursor format as search, so a page taken from the catalog snapshot can be continued here
+    static String nextCursor(OrganizationDto last) {
+        return KeysetCursor.encode(last.name(), last.id());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
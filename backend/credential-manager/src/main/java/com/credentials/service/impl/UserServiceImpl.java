@@ -1,10 +1,14 @@
 package com.credentials.service.impl;
 
 import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.dto.LoginProfile;
 import com.credentials.dto.LoginResponse;
+import com.credentials.dto.OrganizationDto;
+import com.credentials.dto.OrganizationPage;
 import com.credentials.dto.RequestUserContext;
 import com.credentials.dto.UserDto;
 import com.credentials.dto.UserLoginRequest;
+import com.credentials.dto.UserPage;
 import com.credentials.entity.Organization;
 import com.credentials.entity.User;
 import com.credentials.exception.UserNotFoundException;
@@ -12,11 +16,17 @@ import com.credentials.mapper.OrganizationMapper;
 import com.credentials.mapper.UserMapper;
 import com.credentials.repo.OrganizationRepository;
 import com.credentials.repo.UserRepository;
+import com.credentials.security.MembershipTokenService;
 import com.credentials.service.UserService;
-import jakarta.transaction.Transactional;
+import com.credentials.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashSet;
 import java.util.List;
@@ -32,36 +42,53 @@ public class UserServiceImpl implements UserService {
     private final OrganizationRepository orgRepo;
     private final OrganizationMapper organizationMapper;
     private final UserMapper userMapper;
+    private final LoginProfileCache loginProfileCache;
+    private final OrganizationCatalog organizationCatalog;
+    private final PlatformTransactionManager transactionManager;
+    private final MembershipTokenService tokenService;
 
-    @Transactional
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Override
     public LoginResponse processUserLogin(UserLoginRequest request) {
         RequestUserContext reqUserCtx = RequestContextHolder.get();
         String email = reqUserCtx.getEmail();
         String subjectId = reqUserCtx.getSubjectId();
 
-        Optional<User> userOpt = userRepo.findBySubjectId(subjectId);
-
-        if (userOpt.isEmpty()) {
-            return handleFirstTimeLogin(request, subjectId, email);
+        // Returning users are answered from the cache without a transaction or connection checkout
+        Optional<LoginProfile> cached = loginProfileCache.get(subjectId);
+        if (cached.isPresent()) {
+            return handleUserRelogin(cached.get(), subjectId, email);
         }
 
-        return handleUserRelogin(userOpt.get(), email);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Optional<LoginProfile> profile = loginProfileCache.load(subjectId, () -> userRepo.findWithOrganizationsBySubjectId(subjectId)
+                    .map(user -> new LoginProfile(user.getId(), user.getEmail(),
+                            user.getOrganizations().stream().map(organizationMapper::toDto).toList())));
+            if (profile.isEmpty()) {
+                return handleFirstTimeLogin(request, subjectId, email);
+            }
+            return handleUserRelogin(profile.get(), subjectId, email);
+        });
     }
 
-    private LoginResponse handleUserRelogin(User user, String email) {
+    private LoginResponse handleUserRelogin(LoginProfile profile, String subjectId, String email) {
         // CASE 2: Returning User
-        Set<Organization> userOrgs = user.getOrganizations();
+        List<OrganizationDto> userOrgs = profile.organizations();
+        String membershipToken = tokenService.issue(subjectId, profile.userId(), profile.email(),
+                userOrgs.stream().map(org -> UUID.fromString(org.id())).toList());
 
         if (userOrgs.size() == 1) {
             // CASE 2A: User has only one organization - use it seamlessly
-            Organization singleOrg = userOrgs.iterator().next();
-            RequestContextHolder.get().setSelectedOrgId(singleOrg.getId().toString());
+            OrganizationDto singleOrg = userOrgs.getFirst();
+            RequestContextHolder.get().setSelectedOrgId(singleOrg.id());
             return LoginResponse.builder()
                     .email(email)
                     .isFirstLogin(false)
                     .requiresOrgSelection(false)
-                    .message("Welcome back! Organization '" + singleOrg.getName() + "' set for this session")
-                    .associatedOrgs(userOrgs.stream().map(organizationMapper::toDto).toList())
+                    .message("Welcome back! Organization '" + singleOrg.name() + "' set for this session")
+                    .associatedOrgs(userOrgs)
+                    .membershipToken(membershipToken)
                     .build();
         } else {
             // CASE 2B: User has multiple organizations - check if org is already selected via header
@@ -75,7 +102,8 @@ public class UserServiceImpl implements UserService {
                         .isFirstLogin(false)
                         .requiresOrgSelection(true)
                         .message("Please select an organization for this session via 'x-org-id' header")
-                        .availableOrgs(userOrgs.stream().map(organizationMapper::toDto).toList())
+                        .availableOrgs(userOrgs)
+                        .membershipToken(membershipToken)
                         .build();
             } else {
                 // Organization already selected via header - validate and proceed
@@ -84,7 +112,8 @@ public class UserServiceImpl implements UserService {
                         .isFirstLogin(false)
                         .requiresOrgSelection(false)
                         .message("Welcome back! Organization set for this session")
-                        .associatedOrgs(userOrgs.stream().map(organizationMapper::toDto).toList())
+                        .associatedOrgs(userOrgs)
+                        .membershipToken(membershipToken)
                         .build();
             }
         }
@@ -95,12 +124,14 @@ public class UserServiceImpl implements UserService {
 
         // CASE 1A: No org selection provided - return available orgs for selection
         if (request == null || request.selectedOrgIds() == null || request.selectedOrgIds().isEmpty()) {
+            OrganizationPage firstPage = organizationCatalog.firstPage();
             return LoginResponse.builder()
                     .email(email)
                     .isFirstLogin(true)
                     .requiresOrgSelection(true)
                     .message("Please select one or more organizations to associate with your account")
-                    .availableOrgs(orgRepo.findAll().stream().map(organizationMapper::toDto).toList())
+                    .availableOrgs(firstPage.items())
+                    .availableOrgsCursor(firstPage.nextCursor())
                     .build();
         }
 
@@ -140,6 +171,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto getUserById(UUID userId) {
         User user = userRepo.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
@@ -147,8 +179,25 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
-        List<User> users = userRepo.findAll();
-        return userMapper.toDtoList(users);
+        return userRepo.findUserPage(Pageable.unpaged());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPage listUsers(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page follows
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<UserDto> rows = StringUtils.isEmpty(cursor)
+                ? userRepo.findUserPage(limit)
+                : userRepo.findUserPageAfter(KeysetCursor.decode(cursor, 1)[0], limit);
+        if (rows.size() <= size) {
+            return new UserPage(rows, null);
+        }
+        List<UserDto> page = rows.subList(0, size);
+        return new UserPage(page, KeysetCursor.encode(page.get(size - 1).email()));
     }
 }
@@ -0,0 +1,166 @@
+package com.credentials.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel with O(1) scheduling and cancellation. Level {@code k} has
+ * {@code wheelSize} buckets spanning {@code wheelSize^k} ticks each; entries are cascaded
+ * down a level when the lower wheel wraps around to their bucket. Not thread-safe.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final Entry<T>[][] levels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long startMillis, long tickMillis, int wheelSize, int levelCount) {
+        if (tickMillis < 1 || wheelSize < 2 || levelCount < 1)
+            throw new IllegalArgumentException("Timing wheel needs a positive tick, at least two buckets and one level");
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMillis / tickMillis;
+        this.levels = new Entry[levelCount][wheelSize];
+        for (Entry<T>[] level : levels) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                level[slot] = Entry.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Schedules {@code payload} to be returned by the first {@link #advance} reaching {@code deadlineMillis};
+     * deadlines already passed fire on the next tick.
+     */
+    public Timeout<T> schedule(T payload, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Entry<T> entry = new Entry<>(payload, deadlineTick, this);
+        place(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns the payloads that became due, in deadline order.
+     */
+    public List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Entry<T> bucket = levels[0][(int) (currentTick % wheelSize)];
+            for (Entry<T> entry = bucket.next; entry != bucket; ) {
+                Entry<T> next = entry.next;
+                entry.unlink();
+                size--;
+                due.add(entry.payload);
+                entry = next;
+            }
+        }
+        return due;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade() {
+        long span = 1;
+        for (int level = 1; level < levels.length; level++) {
+            span *= wheelSize;
+            if (currentTick % span != 0) {
+                return;
+            }
+            Entry<T> bucket = levels[level][(int) ((currentTick / span) % wheelSize)];
+            // Detach the whole list first, far entries may be placed back into this same bucket
+            Entry<T> first = bucket.next;
+            Entry<T> last = bucket.prev;
+            if (first == bucket) {
+                continue;
+            }
+            bucket.next = bucket;
+            bucket.prev = bucket;
+            last.next = null;
+            for (Entry<T> entry = first; entry != null; ) {
+                Entry<T> next = entry.next;
+                place(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.deadlineTick - currentTick;
+        long span = 1;
+        int level = 0;
+        while (level < levels.length - 1 && delta >= span * wheelSize) {
+            span *= wheelSize;
+            level++;
+        }
+        // Deadlines beyond the top level are parked in its last reachable bucket and re-placed on cascade
+        long placementTick = Math.min(entry.deadlineTick, currentTick + span * wheelSize - 1);
+        Entry<T> bucket = levels[level][(int) ((placementTick / span) % wheelSize)];
+        entry.prev = bucket.prev;
+        entry.next = bucket;
+        bucket.prev.next = entry;
+        bucket.prev = entry;
+    }
+
+    public interface Timeout<T> {
+
+        T payload();
+
+        /**
+         * @return true if the entry was still pending and has now been removed
+         */
+        boolean cancel();
+    }
+
+    private static final class Entry<T> implements Timeout<T> {
+
+        private final T payload;
+        private final long deadlineTick;
+        private final HierarchicalTimingWheel<T> wheel;
+        private Entry<T> prev;
+        private Entry<T> next;
+
+        private Entry(T payload, long deadlineTick, HierarchicalTimingWheel<T> wheel) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+            this.wheel = wheel;
+        }
+
+        private static <T> Entry<T> sentinel() {
+            Entry<T> sentinel = new Entry<>(null, 0, null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        @Override
+        public T payload() {
+            return payload;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (prev == null) {
+                return false;
+            }
+            unlink();
+            wheel.size--;
+            return true;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
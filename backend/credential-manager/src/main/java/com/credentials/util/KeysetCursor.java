@@ -0,0 +1,45 @@
+package com.credentials.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Opaque, URL-safe cursor holding the sort key of the last row of a keyset page.
+ */
+@UtilityClass
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    public static String encode(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the cursor and converts its parts; a cursor whose parts do not parse is as invalid as a malformed one.
+     */
+    public static <T> T decode(String cursor, int expectedParts, Function<String[], T> reader) {
+        String[] parts = decode(cursor, expectedParts);
+        try {
+            return reader.apply(parts);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.credentials.util;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads callers over several independently seeded DRBG instances so concurrent
+ * threads do not serialize on one generator's lock. DRBG only touches the system
+ * entropy source when it is seeded, so generation never blocks afterwards.
+ */
+public class StripedSecureRandom {
+
+    private final SecureRandom[] stripes;
+
+    public StripedSecureRandom(int stripeCount) {
+        stripes = new SecureRandom[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = newDrbg();
+        }
+    }
+
+    public void nextBytes(byte[] bytes) {
+        stripe().nextBytes(bytes);
+    }
+
+    public int nextInt(int bound) {
+        return stripe().nextInt(bound);
+    }
+
+    private SecureRandom stripe() {
+        return stripes[ThreadLocalRandom.current().nextInt(stripes.length)];
+    }
+
+    private static SecureRandom newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
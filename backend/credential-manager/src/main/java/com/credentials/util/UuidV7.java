@@ -0,0 +1,35 @@
+package com.credentials.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.UUID;
+
+import static com.credentials.util.RandomUtil.STRIPED_RANDOM;
+
+/**
+ * RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by 74 random bits.
+ * Values created close together sort close together, so B-tree inserts land on the
+ * right-most index pages instead of spreading over the whole index.
+ */
+@UtilityClass
+public class UuidV7 {
+
+    public static UUID randomUuid() {
+        return fromTimestamp(System.currentTimeMillis());
+    }
+
+    static UUID fromTimestamp(long epochMillis) {
+        byte[] random = new byte[10];
+        STRIPED_RANDOM.nextBytes(random);
+
+        long msb = (epochMillis & 0xFFFFFFFFFFFFL) << 16
+                | 0x7000L
+                | (random[0] & 0x0FL) << 8
+                | (random[1] & 0xFFL);
+        long lsb = 0x8000000000000000L | (random[2] & 0x3FL) << 56;
+        for (int i = 3; i < 10; i++) {
+            lsb |= (random[i] & 0xFFL) << (8 * (9 - i));
+        }
+        return new UUID(msb, lsb);
+    }
+}
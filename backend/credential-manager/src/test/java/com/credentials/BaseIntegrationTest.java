@@ -5,6 +5,7 @@ import com.credentials.entity.User;
 import com.credentials.repo.CredentialRepository;
 import com.credentials.repo.OrganizationRepository;
 import com.credentials.repo.UserRepository;
+import com.credentials.service.impl.MembershipCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -20,7 +21,13 @@ import java.util.Set;
 @TestConfiguration
 @SpringBootTest(properties = {
 		"spring.sql.init.mode=never",
-		"app.data-initializer.enabled=false"
+		"app.data-initializer.enabled=false",
+		"app.credential-sweeper.enabled=false",
+		"app.expiry-notification.window=P30D",
+		"app.membership-token.clock-skew=PT0S",
+		"app.verification.hmac-key=test-verification-key-0123456789abcdef",
+		"app.membership-token.hmac-key=test-membership-token-key-0123456789",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
 })
 public abstract class BaseIntegrationTest {
 
@@ -57,6 +64,9 @@ public abstract class BaseIntegrationTest {
 	@Autowired
 	protected CredentialRepository credentialRepository;
 
+	@Autowired
+	protected MembershipCache membershipCache;
+
 	protected Organization org1;
 	protected Organization org2;
 	protected Organization org3;
@@ -67,6 +77,7 @@ public abstract class BaseIntegrationTest {
 		credentialRepository.deleteAll();
 		userRepository.deleteAll();
 		organizationRepository.deleteAll();
+		membershipCache.invalidateAll();
 
 		// Create test organizations
 		org1 = createOrganization("DE134456789", "ORG-001");
@@ -0,0 +1,248 @@
+package com.credentials;
+
+import com.credentials.entity.User;
+import com.credentials.event.ClusterInvalidationBus;
+import com.credentials.event.CredentialChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Cluster Cache Invalidation IntegrationTests")
+class ClusterInvalidationBusTest extends BaseIntegrationTest {
+
+    private static final String CHANNEL = "cache_invalidation";
+
+    @Autowired
+    private ClusterInvalidationBus bus;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Connection otherNode;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        waitUntil(bus::isListening, "listener should be connected");
+        try {
+            otherNode = dataSource.getConnection();
+            try (Statement statement = otherNode.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        try (Statement statement = otherNode.createStatement()) {
+            statement.execute("UNLISTEN *");
+            otherNode.close();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        super.cleanUp();
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Membership changes are announced only once their transaction commits")
+    void testLocalChangeIsNotifiedAfterCommit() {
+        User user = createUserWithOrganizations("bus-local", "bus-local@example.com", "Bus", "Local", Set.of(org1));
+        receive();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        List<String> beforeCommit = transaction.execute(status -> {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            managed.setOrganizations(Set.of(org1, org2));
+            userRepository.flush();
+            return receive();
+        });
+        List<String> afterCommit = receive();
+
+        assertTrue(beforeCommit.isEmpty(), "Nothing should be announced before commit");
+        assertTrue(afterCommit.stream().anyMatch(payload -> payload.endsWith(":M:bus-local")), afterCommit.toString());
+    }
+
+    @Test
+    @DisplayName("POSITIVE: A change announced by another node evicts only the affected subject")
+    void testRemoteChangeEvictsAffectedKeyOnly() {
+        createUserWithOrganizations("bus-changed", "bus-changed@example.com", "Bus", "Changed", Set.of(org1));
+        createUserWithOrganizations("bus-kept", "bus-kept@example.com", "Bus", "Kept", Set.of(org1));
+        membershipCache.get("bus-changed");
+        membershipCache.get("bus-kept");
+
+        notifyFromOtherNode("other-node-a:1:M:bus-changed");
+
+        waitUntil(() -> !membershipCache.isCached("bus-changed"), "remote change should evict the subject");
+        assertTrue(membershipCache.isCached("bus-kept"), "Other subjects should stay cached");
+    }
+
+    @Test
+    @DisplayName("CORNER CASE: A gap in another node's notifications flushes every cache")
+    void testSequenceGapFlushesAllCaches() {
+        createUserWithOrganizations("bus-gap", "bus-gap@example.com", "Bus", "Gap", Set.of(org1));
+        double received = count("credentials.invalidation.received");
+        double flushes = count("credentials.invalidation.flushes");
+        notifyFromOtherNode("other-node-b:1:M:someone-else");
+        waitUntil(() -> count("credentials.invalidation.received") > received, "first notification should be received");
+        membershipCache.get("bus-gap");
+
+        notifyFromOtherNode("other-node-b:3:M:someone-else");
+
+        waitUntil(() -> !membershipCache.isCached("bus-gap"), "a missed notification should flush all caches");
+        assertEquals(flushes + 1, count("credentials.invalidation.flushes"));
+    }
+
+    @Test
+    @DisplayName("CORNER CASE: A late notification is applied without flushing or moving the sequence back")
+    void testLateNotificationDoesNotFlush() {
+        createUserWithOrganizations("bus-late", "bus-late@example.com", "Bus", "Late", Set.of(org1));
+        double received = count("credentials.invalidation.received");
+        double flushes = count("credentials.invalidation.flushes");
+        notifyFromOtherNode("other-node-d:1:M:someone-else");
+        notifyFromOtherNode("other-node-d:3:M:someone-else");
+        waitUntil(() -> count("credentials.invalidation.received") >= received + 2, "first notifications should be received");
+        membershipCache.get("bus-late");
+
+        notifyFromOtherNode("other-node-d:2:M:bus-late");
+        notifyFromOtherNode("other-node-d:4:M:someone-else");
+
+        waitUntil(() -> count("credentials.invalidation.received") >= received + 4, "late notifications should be received");
+        assertFalse(membershipCache.isCached("bus-late"), "The late notification should still evict its subject");
+        assertEquals(flushes + 1, count("credentials.invalidation.flushes"), "Only the real gap should flush");
+    }
+
+    @Test
+    @DisplayName("CORNER CASE: Concurrent local changes are announced in sequence order")
+    void testConcurrentSendsArriveInOrder() throws InterruptedException {
+        receive();
+        int changes = 200;
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < changes; i++) {
+                String clientId = "bus-concurrent-" + i;
+                executor.submit(() -> eventPublisher.publishEvent(new CredentialChangedEvent(clientId)));
+            }
+        }
+
+        List<Long> sequence = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (sequence.size() < changes && System.currentTimeMillis() < deadline) {
+            receive().stream()
+                    .filter(payload -> payload.contains(":C:bus-concurrent-"))
+                    .map(payload -> Long.parseLong(payload.split(":")[1]))
+                    .forEach(sequence::add);
+        }
+        assertEquals(changes, sequence.size());
+        for (int i = 1; i < sequence.size(); i++) {
+            assertEquals(sequence.get(i - 1) + 1, sequence.get(i), "Notifications should arrive in sequence order");
+        }
+    }
+
+    @Test
+    @DisplayName("CORNER CASE: The listener reconnects after losing its connection and flushes what it may have missed")
+    void testListenerReconnectsAndFlushes() {
+        createUserWithOrganizations("bus-reconnect", "bus-reconnect@example.com", "Bus", "Reconnect", Set.of(org1));
+        membershipCache.get("bus-reconnect");
+
+        int terminated = jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity " +
+                "WHERE application_name = 'cache-invalidation-listener'").size();
+        waitUntil(() -> !membershipCache.isCached("bus-reconnect"), "reconnect should flush all caches");
+        waitUntil(bus::isListening, "listener should reconnect");
+        membershipCache.get("bus-reconnect");
+        notifyFromOtherNode("other-node-c:1:M:bus-reconnect");
+
+        assertTrue(terminated > 0);
+        waitUntil(() -> !membershipCache.isCached("bus-reconnect"), "reconnected listener should apply changes");
+    }
+
+    @Test
+    @DisplayName("CORNER CASE: The sender replaces a connection it lost and keeps announcing changes")
+    void testSenderReconnects() {
+        eventPublisher.publishEvent(new CredentialChangedEvent("bus-before-terminate"));
+        waitUntil(() -> receive().stream().anyMatch(payload -> payload.endsWith(":C:bus-before-terminate")),
+                "sender should announce changes");
+
+        int terminated = jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity " +
+                "WHERE application_name = 'cache-invalidation-sender'").size();
+        eventPublisher.publishEvent(new CredentialChangedEvent("bus-lost"));
+        eventPublisher.publishEvent(new CredentialChangedEvent("bus-after-terminate"));
+
+        assertTrue(terminated > 0);
+        waitUntil(() -> receive().stream().anyMatch(payload -> payload.endsWith(":C:bus-after-terminate")),
+                "sender should reconnect");
+    }
+
+    private void notifyFromOtherNode(String payload) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    }
+
+    private double count(String meter) {
+        return meterRegistry.counter(meter).count();
+    }
+
+    private List<String> receive() {
+        List<String> payloads = new ArrayList<>();
+        PGNotification[] notifications;
+        try {
+            notifications = otherNode.unwrap(PGConnection.class).getNotifications(500);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        if (notifications != null) {
+            for (PGNotification notification : notifications) {
+                payloads.add(notification.getParameter());
+            }
+        }
+        return payloads;
+    }
+
+    private static void waitUntil(BooleanSupplier condition, String message) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertFalse(System.currentTimeMillis() > deadline, "Timed out: " + message);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
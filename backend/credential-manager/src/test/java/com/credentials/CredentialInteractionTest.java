@@ -1,33 +1,49 @@
 package com.credentials;
 
 import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.dto.CredentialPage;
 import com.credentials.dto.CredentialRequest;
 import com.credentials.dto.CredentialResponse;
+import com.credentials.dto.CredentialSummary;
 import com.credentials.dto.RequestUserContext;
 import com.credentials.entity.Credential;
 import com.credentials.entity.Organization;
 import com.credentials.entity.User;
+import com.credentials.exception.CredentialConflictException;
 import com.credentials.exception.CredentialNotFoundException;
 import com.credentials.repo.CredentialRepository;
 import com.credentials.repo.OrganizationRepository;
 import com.credentials.repo.UserRepository;
+import com.credentials.scheduler.ExpiryNotificationScheduler;
+import com.credentials.security.EncryptedSecret;
 import com.credentials.service.CredentialService;
+import com.credentials.util.KeysetCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -35,6 +51,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @Transactional
 class CredentialProcessingTest extends BaseIntegrationTest {
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ExpiryNotificationScheduler expiryScheduler;
+
 	@Autowired
 	private CredentialService credentialService;
 
@@ -47,6 +69,9 @@ class CredentialProcessingTest extends BaseIntegrationTest {
 	@Autowired
 	private OrganizationRepository organizationRepository;
 
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
 	private User testUser;
 	private Organization testOrg;
 
@@ -121,6 +146,90 @@ class CredentialProcessingTest extends BaseIntegrationTest {
 		assertEquals(2, count);
 	}
 
+	@Test
+	@DisplayName("POSITIVE: Bulk create returns every unmasked secret")
+	void testBulkCreateCredentials() {
+		// Arrange
+		List<CredentialRequest> requests = IntStream.range(0, 120)
+				.mapToObj(i -> new CredentialRequest("bulk-key-" + i, 30))
+				.toList();
+
+		// Act
+		List<CredentialResponse> responses = credentialService.createAll(requests);
+
+		// Assert
+		assertEquals(120, responses.size());
+		assertEquals("bulk-key-0", responses.get(0).name());
+		assertEquals(120, responses.stream().map(CredentialResponse::clientSecret).distinct().count());
+		Credential stored = credentialRepository.findById(responses.get(7).id()).orElseThrow();
+		assertEquals(responses.get(7).clientSecret(), stored.getClientSecret().decrypt());
+		assertEquals(testUser.getId(), stored.getCreatedBy().getId());
+	}
+
+	@Test
+	@DisplayName("POSITIVE: List credentials of the selected organization page by page")
+	void testListCredentialsWithKeysetPagination() {
+		// Arrange
+		credentialService.createAll(IntStream.range(0, 5)
+				.mapToObj(i -> new CredentialRequest("paged-key-" + i, 30))
+				.toList());
+
+		// Act
+		CredentialPage first = credentialService.listForSelectedOrganization(null, 2);
+		CredentialPage second = credentialService.listForSelectedOrganization(first.nextCursor(), 2);
+		CredentialPage last = credentialService.listForSelectedOrganization(second.nextCursor(), 2);
+
+		// Assert
+		assertEquals(2, first.items().size());
+		assertEquals(2, second.items().size());
+		assertEquals(1, last.items().size());
+		assertNull(last.nextCursor(), "Last page should not carry a cursor");
+		long distinct = Stream.of(first, second, last)
+				.flatMap(page -> page.items().stream())
+				.map(CredentialSummary::id)
+				.distinct()
+				.count();
+		assertEquals(5, distinct, "Pages should neither skip nor repeat credentials");
+		assertTrue(first.items().get(0).clientSecret().startsWith("****"), "Secrets should be masked");
+	}
+
+	@Test
+	@DisplayName("NEGATIVE: A tampered or truncated cursor is rejected as an invalid argument")
+	void testMalformedCursorIsRejected() {
+		String badDate = KeysetCursor.encode("not-a-timestamp", UUID.randomUUID().toString());
+		String badId = KeysetCursor.encode(OffsetDateTime.now().toString(), "not-a-uuid");
+		String truncated = KeysetCursor.encode(OffsetDateTime.now().toString());
+
+		for (String cursor : List.of(badDate, badId, truncated, "%%%")) {
+			IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+					() -> credentialService.listForSelectedOrganization(cursor, 2));
+			assertEquals("Invalid page cursor", ex.getMessage());
+		}
+	}
+
+	@Test
+	@DisplayName("POSITIVE: Export streams one masked JSON line per credential")
+	void testExportCredentialsAsNdjson() throws Exception {
+		// Arrange
+		List<CredentialResponse> created = credentialService.createAll(IntStream.range(0, 3)
+				.mapToObj(i -> new CredentialRequest("export-key-" + i, 30))
+				.toList());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// Act
+		credentialService.exportForSelectedOrganization().writeTo(out);
+
+		// Assert
+		List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+		assertEquals(3, lines.size());
+		for (String line : lines) {
+			CredentialSummary summary = objectMapper.readValue(line, CredentialSummary.class);
+			assertTrue(summary.clientSecret().startsWith("****"), "Secrets should be masked");
+		}
+		assertFalse(out.toString(StandardCharsets.UTF_8).contains(created.get(0).clientSecret()),
+				"Plain secrets must never be exported");
+	}
+
 	@Test
 	@DisplayName("POSITIVE: Delete credential successfully")
 	
@@ -156,7 +265,7 @@ class CredentialProcessingTest extends BaseIntegrationTest {
 				.filter(c -> c.getName().equals("api-key-to-reset"))
 				.findFirst()
 				.orElseThrow();
-		String oldSecret = credential.getClientSecret();
+		EncryptedSecret oldSecret = credential.getClientSecret();
 
 		// Act
 		CredentialResponse resetResponse = credentialService.resetSecret(credential.getId());
@@ -169,6 +278,7 @@ class CredentialProcessingTest extends BaseIntegrationTest {
 		// Verify in database
 		Credential updated = credentialRepository.findById(credential.getId()).orElseThrow();
 		assertNotEquals(oldSecret, updated.getClientSecret());
+		assertEquals(resetResponse.clientSecret(), updated.getClientSecret().decrypt());
 	}
 
 	@Test
@@ -196,8 +306,64 @@ class CredentialProcessingTest extends BaseIntegrationTest {
         assertTrue(Math.abs(daysDifference) <= 1, "Expiry date should be approximately 30 days from creation");
 	}
 
+	@Test
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	@DisplayName("NEGATIVE: Rolled back creates and deletes leave the expiry notifications as they were")
+	void testRolledBackChangesDoNotTouchExpiryNotifications() {
+		// Arrange
+		CredentialResponse kept = credentialService.create(new CredentialRequest("api-key-kept", 10));
+		TransactionTemplate rollback = new TransactionTemplate(transactionManager);
+
+		// Act
+		CredentialResponse rolledBack = rollback.execute(status -> {
+			CredentialResponse created = credentialService.create(new CredentialRequest("api-key-rolled-back", 10));
+			credentialService.delete(kept.id());
+			status.setRollbackOnly();
+			return created;
+		});
+
+		// Assert
+		assertFalse(expiryScheduler.isPending(rolledBack.id()), "No notification for a credential that was never committed");
+		assertTrue(expiryScheduler.isPending(kept.id()), "A rolled back delete must not cancel the notification");
+	}
+
 	// ==================== NEGATIVE SCENARIOS ====================
 
+	@Test
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	@DisplayName("POSITIVE: Expiry notification follows create, reset and delete once they commit")
+	void testExpiryNotificationTracksCredentialLifecycle() {
+		// Arrange
+		CredentialResponse created = credentialService.create(new CredentialRequest("api-key-notify", 10));
+		assertTrue(expiryScheduler.isPending(created.id()));
+
+		// Act
+		credentialService.resetSecret(created.id());
+		boolean pendingAfterReset = expiryScheduler.isPending(created.id());
+		credentialService.delete(created.id());
+
+		// Assert
+		assertTrue(pendingAfterReset);
+		assertFalse(expiryScheduler.isPending(created.id()));
+	}
+
+	@Test
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	@DisplayName("CORNER CASE: A released expiry notification claim can be claimed again, only by its own claimer")
+	void testExpiryNotificationClaimRelease() {
+		// Arrange
+		CredentialResponse created = credentialService.create(new CredentialRequest("api-key-claimed", 10));
+		OffsetDateTime claimedAt = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+		assertEquals(1, credentialRepository.claimExpiryNotification(created.id(), claimedAt));
+		assertEquals(0, credentialRepository.claimExpiryNotification(created.id(), claimedAt.plusSeconds(1)));
+
+		// Act & Assert
+		assertEquals(0, credentialRepository.releaseExpiryNotification(created.id(), claimedAt.minusSeconds(1)),
+				"Another claim must not be released");
+		assertEquals(1, credentialRepository.releaseExpiryNotification(created.id(), claimedAt));
+		assertEquals(1, credentialRepository.claimExpiryNotification(created.id(), claimedAt.plusSeconds(1)));
+	}
+
 	@Test
 	@DisplayName("NEGATIVE: Delete credential that does not exist")
 	void testDeleteNonExistentCredential() {
@@ -222,6 +388,21 @@ class CredentialProcessingTest extends BaseIntegrationTest {
 		}, "Should throw exception when resetting secret for non-existent credential");
 	}
 
+	@Test
+	@DisplayName("NEGATIVE: Reset with a stale version is rejected")
+	void testResetSecretWithStaleVersion() {
+		// Arrange
+		CredentialResponse created = credentialService.create(new CredentialRequest("api-key-versioned", 30));
+		CredentialResponse firstReset = credentialService.resetSecret(created.id(), created.version());
+
+		// Act & Assert - a second writer still holding the original version must not overwrite the first reset
+		assertEquals(created.version() + 1, firstReset.version());
+		assertThrows(CredentialConflictException.class,
+				() -> credentialService.resetSecret(created.id(), created.version()));
+		assertEquals(firstReset.clientSecret(),
+				credentialRepository.findById(created.id()).orElseThrow().getClientSecret().decrypt());
+	}
+
 	@Test
 	@DisplayName("NEGATIVE: User cannot delete credential they did not create")
 	
@@ -364,7 +545,7 @@ class CredentialProcessingTest extends BaseIntegrationTest {
 
 		// Secret in database should be encrypted (not null and not empty)
 		assertNotNull(credential.getClientSecret());
-		assertFalse(credential.getClientSecret().isEmpty(),
+		assertTrue(credential.getClientSecret().length() > 0,
 				"Secret should be encrypted and stored");
 	}
 
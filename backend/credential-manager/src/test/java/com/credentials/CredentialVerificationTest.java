@@ -0,0 +1,123 @@
+package com.credentials;
+
+import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.dto.CredentialRequest;
+import com.credentials.dto.CredentialResponse;
+import com.credentials.dto.CredentialVerificationRequest;
+import com.credentials.dto.CredentialVerificationResponse;
+import com.credentials.dto.RequestUserContext;
+import com.credentials.entity.User;
+import com.credentials.repo.CredentialRepository;
+import com.credentials.repo.CredentialVerificationView;
+import com.credentials.security.SecretHasher;
+import com.credentials.service.CredentialService;
+import com.credentials.service.CredentialVerificationService;
+import com.credentials.service.impl.CredentialVerificationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Credential Verification IntegrationTests")
+class CredentialVerificationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private CredentialVerificationService verificationService;
+
+    @Autowired
+    private SecretHasher secretHasher;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        User user = createUserWithOrganizations("verify-user", "verify@example.com", "Veri", "Fier", Set.of(org1));
+        RequestContextHolder.set(RequestUserContext.builder()
+                .subjectId(user.getSubjectId())
+                .email(user.getEmail())
+                .selectedOrgId(org1.getId().toString())
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        RequestContextHolder.clear();
+        super.cleanUp();
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Issued secret verifies and reports its organization")
+    void testIssuedSecretVerifies() {
+        CredentialResponse created = credentialService.create(new CredentialRequest("verify-key", 30));
+
+        CredentialVerificationResponse first = verify(created.clientId(), created.clientSecret());
+        CredentialVerificationResponse cached = verify(created.clientId(), created.clientSecret());
+
+        assertTrue(first.valid());
+        assertTrue(cached.valid());
+        assertEquals(org1.getId(), first.organizationId());
+    }
+
+    @Test
+    @DisplayName("NEGATIVE: Wrong secret and unknown client are rejected")
+    void testWrongSecretIsRejected() {
+        CredentialResponse created = credentialService.create(new CredentialRequest("verify-wrong", 30));
+
+        assertFalse(verify(created.clientId(), created.clientSecret() + "x").valid());
+        assertFalse(verify("unknown-client", created.clientSecret()).valid());
+    }
+
+    @Test
+    @DisplayName("NEGATIVE: Reset and delete invalidate a cached verification")
+    void testResetAndDeleteInvalidateCache() {
+        CredentialResponse created = credentialService.create(new CredentialRequest("verify-reset", 30));
+        assertTrue(verify(created.clientId(), created.clientSecret()).valid());
+
+        CredentialResponse reset = credentialService.resetSecret(created.id());
+        assertFalse(verify(created.clientId(), created.clientSecret()).valid(), "Old secret must stop verifying");
+        assertTrue(verify(created.clientId(), reset.clientSecret()).valid());
+
+        credentialService.delete(created.id());
+        assertFalse(verify(created.clientId(), reset.clientSecret()).valid(), "Deleted credential must stop verifying");
+    }
+
+    @Test
+    @DisplayName("CORNER CASE: A secret revoked while it was being verified is not cached")
+    void testRevocationDuringVerificationIsNotCachedOver() {
+        CredentialRepository repo = mock(CredentialRepository.class);
+        CredentialVerificationView row = mock(CredentialVerificationView.class);
+        when(row.getClientSecretHash()).thenReturn(secretHasher.hash("raced-secret"));
+        when(row.getOrganizationId()).thenReturn(org1.getId());
+        AtomicReference<CredentialVerificationServiceImpl> service = new AtomicReference<>();
+        service.set(new CredentialVerificationServiceImpl(repo, secretHasher, 100, Duration.ofMinutes(5)));
+        // The reset commits, and evicts, after the old row was read but before it is cached
+        when(repo.findVerificationByClientId("raced-client"))
+                .thenAnswer(invocation -> {
+                    service.get().evict("raced-client");
+                    return Optional.of(row);
+                })
+                .thenReturn(Optional.empty());
+
+        CredentialVerificationRequest request = new CredentialVerificationRequest("raced-client", "raced-secret");
+        assertTrue(service.get().verify(request).valid(), "The row read before the reset still matched");
+        assertFalse(service.get().verify(request).valid(), "The revoked secret must not be answered from the cache");
+    }
+
+    private CredentialVerificationResponse verify(String clientId, String clientSecret) {
+        return verificationService.verify(new CredentialVerificationRequest(clientId, clientSecret));
+    }
+}
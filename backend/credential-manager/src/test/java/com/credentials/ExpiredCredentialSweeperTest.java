@@ -0,0 +1,101 @@
+package com.credentials;
+
+import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.dto.CredentialRequest;
+import com.credentials.dto.CredentialResponse;
+import com.credentials.dto.RequestUserContext;
+import com.credentials.entity.Credential;
+import com.credentials.entity.User;
+import com.credentials.scheduler.ExpiredCredentialSweeper;
+import com.credentials.service.CredentialService;
+import com.credentials.service.CredentialVerificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Expired Credential Sweeper IntegrationTests")
+class ExpiredCredentialSweeperTest extends BaseIntegrationTest {
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private CredentialVerificationService verificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        User user = createUserWithOrganizations("sweep-user", "sweep@example.com", "Swee", "Per", Set.of(org1));
+        RequestContextHolder.set(RequestUserContext.builder()
+                .subjectId(user.getSubjectId())
+                .email(user.getEmail())
+                .selectedOrgId(org1.getId().toString())
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        RequestContextHolder.clear();
+        super.cleanUp();
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Expired credentials are deleted in batches, live ones are kept")
+    void testSweepDeletesOnlyExpired() {
+        List<CredentialResponse> created = credentialService.createAll(IntStream.range(0, 5)
+                .mapToObj(i -> new CredentialRequest("sweep-key-" + i, 30))
+                .toList());
+        created.subList(0, 4).forEach(response -> expire(response, Duration.ofDays(1)));
+
+        int swept = sweeper(2, Duration.ofSeconds(10)).sweep();
+
+        assertEquals(4, swept);
+        List<Credential> remaining = credentialRepository.findAll();
+        assertEquals(1, remaining.size());
+        assertEquals(created.get(4).id(), remaining.get(0).getId());
+        assertEquals(4.0, meterRegistry.counter("credentials.sweeper.deleted").count());
+    }
+
+    @Test
+    @DisplayName("CORNER CASE: A run stops at its runtime limit and the next run continues")
+    void testSweepStopsAtMaxRuntime() {
+        List<CredentialResponse> created = credentialService.createAll(IntStream.range(0, 3)
+                .mapToObj(i -> new CredentialRequest("sweep-limit-" + i, 30))
+                .toList());
+        created.forEach(response -> expire(response, Duration.ofHours(1)));
+        ExpiredCredentialSweeper sweeper = sweeper(1, Duration.ZERO);
+
+        assertEquals(1, sweeper.sweep());
+        assertEquals(1.0, meterRegistry.counter("credentials.sweeper.truncated").count());
+        assertTrue(sweeper.sweep() > 0);
+    }
+
+    private ExpiredCredentialSweeper sweeper(int batchSize, Duration maxRuntime) {
+        return new ExpiredCredentialSweeper(jdbcTemplate, verificationService, meterRegistry,
+                batchSize, Duration.ZERO, maxRuntime);
+    }
+
+    private void expire(CredentialResponse response, Duration ago) {
+        Credential credential = credentialRepository.findById(response.id()).orElseThrow();
+        credential.setExpiryDate(OffsetDateTime.now().minus(ago));
+        credentialRepository.save(credential);
+    }
+}
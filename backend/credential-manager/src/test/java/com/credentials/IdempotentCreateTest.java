@@ -0,0 +1,113 @@
+package com.credentials;
+
+import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.dto.CredentialRequest;
+import com.credentials.dto.CredentialResponse;
+import com.credentials.dto.RequestUserContext;
+import com.credentials.entity.User;
+import com.credentials.exception.CredentialConflictException;
+import com.credentials.repo.IdempotencyRecordRepository;
+import com.credentials.service.CredentialService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Idempotent Credential Creation IntegrationTests")
+class IdempotentCreateTest extends BaseIntegrationTest {
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private RequestUserContext context;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository.deleteAll();
+        super.setUp();
+        User user = createUserWithOrganizations("idem-user", "idem@example.com", "Idem", "Potent", Set.of(org1));
+        context = RequestUserContext.builder()
+                .subjectId(user.getSubjectId())
+                .email(user.getEmail())
+                .selectedOrgId(org1.getId().toString())
+                .build();
+        RequestContextHolder.set(context);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        RequestContextHolder.clear();
+        idempotencyRecordRepository.deleteAll();
+        super.cleanUp();
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Retry with the same key returns the original credential")
+    void testRetryReturnsOriginalResponse() {
+        CredentialRequest request = new CredentialRequest("idem-key", 30);
+
+        CredentialResponse first = credentialService.create(request, "retry-1");
+        CredentialResponse retried = credentialService.create(request, "retry-1");
+        CredentialResponse other = credentialService.create(request, "retry-2");
+
+        assertEquals(first, retried);
+        assertNotEquals(first.id(), other.id());
+        assertEquals(2, credentialRepository.count());
+        assertEquals(2, idempotencyRecordRepository.count());
+    }
+
+    @Test
+    @DisplayName("CORNER CASE: Concurrent duplicates coalesce onto one creation")
+    void testConcurrentDuplicatesCoalesce() throws Exception {
+        CredentialRequest request = new CredentialRequest("idem-concurrent", 30);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<CredentialResponse>> futures = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> {
+                        RequestContextHolder.set(context);
+                        try {
+                            start.await();
+                            return credentialService.create(request, "concurrent-1");
+                        } finally {
+                            RequestContextHolder.clear();
+                        }
+                    }))
+                    .toList();
+            start.countDown();
+            CredentialResponse first = futures.get(0).get();
+            for (Future<CredentialResponse> future : futures) {
+                assertEquals(first, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, credentialRepository.count());
+    }
+
+    @Test
+    @DisplayName("NEGATIVE: Reusing a key for a different request is rejected")
+    void testKeyReuseWithDifferentRequestIsRejected() {
+        credentialService.create(new CredentialRequest("idem-first", 30), "reused-1");
+
+        assertThrows(CredentialConflictException.class,
+                () -> credentialService.create(new CredentialRequest("idem-second", 30), "reused-1"));
+        assertEquals(1, credentialRepository.count());
+    }
+}
@@ -0,0 +1,110 @@
+package com.credentials;
+
+import com.credentials.dto.OrganizationDto;
+import com.credentials.dto.OrganizationPage;
+import com.credentials.service.OrganizationService;
+import com.credentials.service.impl.OrganizationCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Organization Catalog IntegrationTests")
+class OrganizationCatalogTest extends BaseIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrganizationCatalog catalog;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        super.cleanUp();
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Catalog is served with an ETag and revalidates with 304")
+    void testCatalogRevalidatesWithETag() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/v1/organizations"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        OrganizationDto[] organizations = objectMapper.readValue(first.getResponse().getContentAsByteArray(), OrganizationDto[].class);
+
+        mockMvc.perform(get("/api/v1/organizations").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        assertEquals(3, organizations.length);
+        assertEquals("ORG-001", organizations[0].name());
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Snapshot is reused until an organization changes")
+    void testSnapshotRefreshesOnlyOnChange() throws Exception {
+        OrganizationCatalog.Snapshot before = catalog.snapshot();
+        assertSame(before, catalog.snapshot(), "Unchanged catalog should not be rebuilt");
+
+        createOrganization("DE000000001", "ORG-004");
+        OrganizationCatalog.Snapshot after = catalog.snapshot();
+
+        assertEquals(4, after.organizations().size());
+        assertNotEquals(before.etag(), after.etag());
+        mockMvc.perform(get("/api/v1/organizations").header(HttpHeaders.IF_NONE_MATCH, "\"" + before.etag() + "\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Search matches name, VAT number and SAP id substrings page by page")
+    void testSearchPagesThroughMatches() {
+        OrganizationPage byVat = organizationService.search("7784", null, 20);
+        OrganizationPage first = organizationService.search("org-00", null, 2);
+        OrganizationPage second = organizationService.search("org-00", first.nextCursor(), 2);
+
+        assertEquals(List.of("ORG-002"), byVat.items().stream().map(OrganizationDto::sapId).toList());
+        assertEquals(List.of("ORG-001", "ORG-002"), first.items().stream().map(OrganizationDto::name).toList());
+        assertEquals(List.of("ORG-003"), second.items().stream().map(OrganizationDto::name).toList());
+        assertNull(second.nextCursor());
+        assertTrue(organizationService.search("org_00", null, 20).items().isEmpty(), "LIKE wildcards must be matched literally");
+    }
+
+    @Test
+    @DisplayName("POSITIVE: First-login page comes from the catalog and includes every organization when it fits")
+    void testFirstPageFromCatalog() {
+        OrganizationPage firstPage = catalog.firstPage();
+
+        assertEquals(3, firstPage.items().size());
+        assertNull(firstPage.nextCursor());
+    }
+}
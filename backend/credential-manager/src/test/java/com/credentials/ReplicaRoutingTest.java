@@ -0,0 +1,208 @@
+package com.credentials;
+
+import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.datasource.Replica;
+import com.credentials.datasource.ReplicaRoutingDataSource;
+import com.credentials.dto.RequestUserContext;
+import com.credentials.entity.User;
+import com.credentials.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Read Replica Routing IntegrationTests")
+class ReplicaRoutingTest extends BaseIntegrationTest {
+
+    // Not a streaming replica: the tests copy rows and heartbeats over themselves to control its lag
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("credentials_replica")
+            .withUsername("test")
+            .withPassword("test")
+            .withStartupTimeout(Duration.ofSeconds(60))
+            .waitingFor(Wait.forListeningPort());
+
+    static {
+        replica.start();
+    }
+
+    @DynamicPropertySource
+    static void registerReplicas(DynamicPropertyRegistry registry) {
+        // The second replica never answers, reads must go around it
+        registry.add("app.replicas.urls", () -> replica.getJdbcUrl() + ",jdbc:postgresql://localhost:1/unreachable");
+        registry.add("app.replicas.username", replica::getUsername);
+        registry.add("app.replicas.password", replica::getPassword);
+        registry.add("app.replicas.connection-timeout", () -> "PT0.25S");
+        registry.add("app.replicas.heartbeat-interval", () -> "PT0.1S");
+        registry.add("app.replicas.max-lag", () -> "PT5S");
+    }
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        replicateHeartbeat(OffsetDateTime.now().plusHours(1));
+        waitUntil(() -> firstReplica().isEligible(), "replica should be caught up");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        RequestContextHolder.clear();
+        super.cleanUp();
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Read-only transactions read a replica, everything else the primary")
+    void testReadOnlyTransactionsReadReplica() {
+        assertEquals(replica.getDatabaseName(), readOnly.execute(status -> currentDatabase()));
+        assertEquals(postgres.getDatabaseName(), readWrite.execute(status -> currentDatabase()));
+        assertEquals(postgres.getDatabaseName(), currentDatabase(), "Outside transactions");
+        assertFalse(routingDataSource.replicas().get(1).isEligible(), "Unreachable replica should not serve reads");
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Service reads are answered by the replica until it lags beyond the bound")
+    void testLaggingReplicaFallsBackToPrimary() {
+        User user = createUserWithOrganizations("replica-user", "primary@example.com", "Rep", "Lica", Set.of(org1));
+        replicateUsers();
+        try (Connection connection = connectToReplica();
+             Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE users SET email = 'replica@example.com'");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+
+        assertEquals("replica@example.com", userService.getUserById(user.getId()).email());
+
+        double fallbacks = meterRegistry.counter("credentials.replica.primary.reads", "reason", "no-replica").count();
+        replicateHeartbeat(OffsetDateTime.now().minusMinutes(1));
+        waitUntil(() -> !firstReplica().isEligible(), "lagging replica should stop serving reads");
+
+        assertEquals("primary@example.com", userService.getUserById(user.getId()).email());
+        assertEquals(fallbacks + 1, meterRegistry.counter("credentials.replica.primary.reads", "reason", "no-replica").count());
+    }
+
+    @Test
+    @DisplayName("CORNER CASE: A subject reads from the primary right after its own write, others still from the replica")
+    void testSubjectReadsOwnWritesFromPrimary() {
+        RequestContextHolder.set(RequestUserContext.builder().subjectId("replica-writer").build());
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE users SET email = email"));
+
+        assertEquals(postgres.getDatabaseName(), readOnly.execute(status -> currentDatabase()));
+
+        RequestContextHolder.set(RequestUserContext.builder().subjectId("replica-reader").build());
+        assertEquals(replica.getDatabaseName(), readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    @DisplayName("CORNER CASE: Connections asked for with explicit credentials are routed the same way")
+    void testExplicitCredentialsAreRouted() {
+        // The replica pool does not take per-call credentials, which must not count against the replica
+        readOnly.executeWithoutResult(status -> assertThrows(SQLFeatureNotSupportedException.class,
+                () -> routingDataSource.getConnection(replica.getUsername(), replica.getPassword())));
+
+        assertTrue(firstReplica().isEligible());
+        assertEquals(replica.getDatabaseName(), readOnly.execute(status -> currentDatabase()));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private Replica firstReplica() {
+        return routingDataSource.replicas().get(0);
+    }
+
+    // Stands in for replication: the heartbeat the replica shows decides how far behind it looks
+    private static void replicateHeartbeat(OffsetDateTime beatAt) {
+        try (Connection connection = connectToReplica();
+             Statement statement = connection.createStatement();
+             PreparedStatement beat = connection.prepareStatement("INSERT INTO replication_heartbeat VALUES (1, ?) " +
+                     "ON CONFLICT (id) DO UPDATE SET beat_at = EXCLUDED.beat_at")) {
+            statement.execute("CREATE TABLE IF NOT EXISTS replication_heartbeat (id int PRIMARY KEY, beat_at timestamptz NOT NULL)");
+            beat.setObject(1, beatAt);
+            beat.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void replicateUsers() {
+        String columns = jdbcTemplate.queryForObject("SELECT string_agg(quote_ident(attname) || ' ' || " +
+                "format_type(atttypid, atttypmod), ', ' ORDER BY attnum) FROM pg_attribute " +
+                "WHERE attrelid = 'users'::regclass AND attnum > 0 AND NOT attisdropped", String.class);
+        try (Connection connection = connectToReplica();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS users");
+            statement.execute("CREATE TABLE users (" + columns + ")");
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO users SELECT * FROM json_populate_recordset(null::users, ?::json)")) {
+                insert.setString(1, jdbcTemplate.queryForObject("SELECT coalesce(json_agg(u), '[]') FROM users u", String.class));
+                insert.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Connection connectToReplica() throws SQLException {
+        return DriverManager.getConnection(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+    }
+
+    private static void waitUntil(BooleanSupplier condition, String message) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertFalse(System.currentTimeMillis() > deadline, "Timed out: " + message);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.credentials;
+
+import com.credentials.dto.CredentialResponse;
+import com.credentials.entity.User;
+import com.credentials.filter.CustomHeaderAuthFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Request Identity IntegrationTests")
+class RequestIdentityTest extends BaseIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private CustomHeaderAuthFilter authFilter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).addFilters(authFilter).build();
+        user = createUserWithOrganizations("identity-user", "identity@example.com", "Ida", "Entity", Set.of(org1, org2));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        super.cleanUp();
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Create resolves the user and organization once, shared by interceptor and service")
+    void testCreateResolvesIdentityOnce() throws Exception {
+        // Before: membership check, user lookup, organization lookup and insert
+        long statements = statementsFor(post("/api/v1/credentials").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"identity-cold\",\"validityInDays\":30}"));
+
+        assertEquals(2, statements, "Cold create should run the membership load and the insert only");
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Every credential endpoint runs only its own statement once the identity is cached")
+    void testCredentialEndpointsSkipIdentityQueries() throws Exception {
+        // Warm the membership cache and create a credential to work on
+        CredentialResponse created = objectMapper.readValue(perform(post("/api/v1/credentials")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"identity-warm\",\"validityInDays\":30}")).getResponse().getContentAsString(),
+                CredentialResponse.class);
+
+        // Before, each endpoint also ran the membership check; create and bulk create re-read the user and organization
+        assertEquals(1, statementsFor(post("/api/v1/credentials").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"identity-single\",\"validityInDays\":30}")), "create was 4 statements");
+        assertEquals(1, statementsFor(post("/api/v1/credentials/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"credentials\":[{\"name\":\"identity-bulk-1\",\"validityInDays\":30}," +
+                        "{\"name\":\"identity-bulk-2\",\"validityInDays\":30}]}")), "bulk create was 4 statements");
+        assertEquals(1, statementsFor(get("/api/v1/credentials")), "list was 2 statements");
+        assertEquals(1, statementsFor(get("/api/v1/credentials/{id}", created.id())), "get was 2 statements");
+        assertEquals(1, statementsFor(patch("/api/v1/credentials/{id}/reset-secret", created.id())), "reset was 2 statements");
+        assertEquals(1, statementsFor(delete("/api/v1/credentials/{id}", created.id())), "delete was 2 statements");
+    }
+
+    private long statementsFor(MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+        perform(request);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        RequestBuilder withIdentity = request
+                .header("x-user-sub", user.getSubjectId())
+                .header("x-user-email", user.getEmail())
+                .header("x-org-id", org1.getId().toString());
+        return mockMvc.perform(withIdentity).andExpect(status().is2xxSuccessful()).andReturn();
+    }
+}
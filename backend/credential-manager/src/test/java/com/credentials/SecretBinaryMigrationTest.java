@@ -0,0 +1,96 @@
+package com.credentials;
+
+import com.credentials.bootstrap.SecretBinaryMigration;
+import com.credentials.entity.Credential;
+import com.credentials.entity.User;
+import com.credentials.security.EncryptedSecret;
+import com.credentials.security.EncryptionUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SecretBinaryMigrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        super.cleanUp();
+        jdbcTemplate.execute("ALTER TABLE credential DROP COLUMN IF EXISTS client_secret");
+        jdbcTemplate.execute("ALTER TABLE credential ALTER COLUMN client_secret_bin DROP NOT NULL");
+    }
+
+    @Test
+    @DisplayName("Without the conversion, the legacy column still stops being required so new rows can be written")
+    void testLegacyColumnIsRelaxedWithoutConversion() {
+        // Arrange - a table created before the binary column existed, still empty
+        User owner = createUserWithOrganizations("migration-user", "migration@example.com", "Mig", "Ration", Set.of(org1));
+        jdbcTemplate.execute("ALTER TABLE credential ADD COLUMN IF NOT EXISTS client_secret VARCHAR(255) NOT NULL");
+
+        // Act
+        new SecretBinaryMigration(jdbcTemplate, transactionManager, false, 2).run();
+        Credential saved = credentialRepository.save(legacyCredential(0, owner));
+
+        // Assert
+        assertEquals("YES", columnNullable("client_secret"));
+        assertEquals("YES", columnNullable("client_secret_bin"), "Binary column should only be required after the conversion");
+        assertNull(jdbcTemplate.queryForObject("SELECT client_secret FROM credential WHERE id = ?", String.class, saved.getId()));
+    }
+
+    @Test
+    @DisplayName("Legacy Base64 secrets are copied to the bytea column, which then becomes NOT NULL")
+    void testLegacySecretsAreConverted() {
+        // Arrange - simulate a table created before the binary column existed
+        User owner = createUserWithOrganizations("migration-user", "migration@example.com", "Mig", "Ration", Set.of(org1));
+        jdbcTemplate.execute("ALTER TABLE credential ADD COLUMN IF NOT EXISTS client_secret VARCHAR(255) NOT NULL DEFAULT ''");
+        for (int i = 0; i < 5; i++) {
+            Credential saved = credentialRepository.save(legacyCredential(i, owner));
+            jdbcTemplate.update("UPDATE credential SET client_secret = ? WHERE id = ?",
+                    EncryptionUtils.encrypt("legacy-secret-" + i), saved.getId());
+        }
+
+        // Act
+        new SecretBinaryMigration(jdbcTemplate, transactionManager, true, 2).run();
+
+        // Assert
+        assertEquals("YES", columnNullable("client_secret"), "Legacy column should be kept, but no longer required");
+        assertEquals("NO", columnNullable("client_secret_bin"), "Binary column should be required once every row has it");
+        assertEquals(5, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM credential WHERE client_secret IS NOT NULL", Integer.class),
+                "Legacy secrets should stay readable for a rollback");
+        for (Credential credential : credentialRepository.findAll()) {
+            EncryptedSecret secret = credential.getClientSecret();
+            assertNotNull(secret);
+            assertEquals("legacy-secret-" + credential.getName().substring("legacy-".length()), secret.decrypt());
+        }
+    }
+
+    private Credential legacyCredential(int i, User owner) {
+        Credential credential = new Credential();
+        credential.setName("legacy-" + i);
+        credential.setClientId("legacy-client-" + i);
+        credential.setCreationDate(OffsetDateTime.now());
+        credential.setOrganization(org1);
+        credential.setCreatedBy(owner);
+        return credential;
+    }
+
+    private String columnNullable(String column) {
+        return jdbcTemplate.queryForObject("SELECT is_nullable FROM information_schema.columns " +
+                "WHERE table_name = 'credential' AND column_name = ?", String.class, column);
+    }
+}
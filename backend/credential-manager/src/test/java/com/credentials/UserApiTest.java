@@ -1,10 +1,14 @@
 package com.credentials;
 
 import com.credentials.dto.UserDto;
+import com.credentials.dto.UserPage;
 import com.credentials.entity.User;
 import com.credentials.exception.UserNotFoundException;
 import com.credentials.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +21,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -25,6 +30,9 @@ class UserApiTest extends BaseIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     @Override
     void setUp() {
@@ -315,4 +323,33 @@ class UserApiTest extends BaseIntegrationTest {
         assertNotNull(userDto, "User DTO should not be null");
         assertNotNull(userId, "User ID should not be null");
     }
+
+    @Test
+    @DisplayName("Listing users runs the same number of statements whatever the page size")
+    void testListUsersStatementCountIsConstant() {
+        // Arrange
+        for (int i = 0; i < 12; i++) {
+            createUserWithOrganizations("page-user-" + i, "page" + i + "@example.com", "Page", "User" + i, Set.of(org1, org2));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Act
+        statistics.clear();
+        UserPage small = userService.listUsers(null, 2);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        UserPage large = userService.listUsers(null, 10);
+        long largePageStatements = statistics.getPrepareStatementCount();
+        long loadedEntities = statistics.getEntityLoadCount();
+        UserPage rest = userService.listUsers(large.nextCursor(), 10);
+
+        // Assert
+        assertEquals(2, small.items().size());
+        assertEquals(10, large.items().size());
+        assertEquals(2, rest.items().size());
+        assertNull(rest.nextCursor());
+        assertEquals(1, smallPageStatements, "A page should be a single statement");
+        assertEquals(smallPageStatements, largePageStatements);
+        assertEquals(0, loadedEntities, "Users should be read as projections, not entities");
+    }
 }
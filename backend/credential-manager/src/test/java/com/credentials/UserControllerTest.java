@@ -37,7 +37,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @SpringBootTest(properties = {
         "spring.sql.init.mode=never",
-        "app.data-initializer.enabled=false"
+        "app.data-initializer.enabled=false",
+        "app.verification.hmac-key=test-verification-key-0123456789abcdef",
+        "app.membership-token.hmac-key=test-membership-token-key-0123456789"
 })
 @AutoConfigureMockMvc
 class UserControllerTest {
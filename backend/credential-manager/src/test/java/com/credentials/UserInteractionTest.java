@@ -5,21 +5,35 @@ import com.credentials.dto.LoginResponse;
 import com.credentials.dto.RequestUserContext;
 import com.credentials.dto.UserLoginRequest;
 import com.credentials.entity.User;
+import com.credentials.exception.CredentialProcessingException;
+import com.credentials.interceptor.OrganizationValidationInterceptor;
+import com.credentials.security.MembershipTokenService;
 import com.credentials.service.UserService;
+import com.credentials.service.impl.LoginProfileCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class UserInteractionTest extends BaseIntegrationTest {
@@ -28,6 +42,18 @@ class UserInteractionTest extends BaseIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LoginProfileCache loginProfileCache;
+
+    @Autowired
+    private OrganizationValidationInterceptor interceptor;
+
     @BeforeEach
     void setUp() {
         super.setUp();
@@ -74,7 +100,7 @@ class UserInteractionTest extends BaseIntegrationTest {
         assertTrue(response.isRequiresOrgSelection());
 
         // Verify user is persisted in database
-        Optional<User> createdUser = userRepository.findBySubjectId(subjectId);
+        Optional<User> createdUser = userRepository.findWithOrganizationsBySubjectId(subjectId);
         assertTrue(createdUser.isPresent(), "User should be created in database");
 
         User user = createdUser.get();
@@ -113,7 +139,7 @@ class UserInteractionTest extends BaseIntegrationTest {
         assertTrue(response.isFirstLogin());
 
         // Verify user is associated with only one organization
-        Optional<User> createdUser = userRepository.findBySubjectId(subjectId);
+        Optional<User> createdUser = userRepository.findWithOrganizationsBySubjectId(subjectId);
         assertTrue(createdUser.isPresent());
         assertEquals(1, createdUser.get().getOrganizations().size());
         assertEquals(org1.getId(), createdUser.get().getOrganizations().iterator().next().getId());
@@ -205,4 +231,150 @@ class UserInteractionTest extends BaseIntegrationTest {
                 .count();
         assertEquals(1, org3UserCount);
     }
+
+    @Test
+    @DisplayName("Returning user login is served from the profile cache until memberships change")
+    void testReturningUserLoginUsesProfileCache() {
+        // Arrange
+        User existingUser = createUserWithOrganizations("user-005-cached", "carol@example.com", "Carol", "White", Set.of(org1));
+        RequestUserContext context = RequestUserContext.builder()
+                .subjectId(existingUser.getSubjectId())
+                .email(existingUser.getEmail())
+                .build();
+        RequestContextHolder.set(context);
+        UserLoginRequest request = new UserLoginRequest("Carol", "White", List.of());
+        double hitsBefore = profileCacheHits();
+
+        // Act
+        userService.processUserLogin(request);
+        LoginResponse cached = userService.processUserLogin(request);
+        existingUser.setOrganizations(Set.of(org1, org2));
+        userRepository.save(existingUser);
+        context.setSelectedOrgId(null);
+        LoginResponse afterChange = userService.processUserLogin(request);
+
+        // Assert
+        assertEquals(hitsBefore + 1, profileCacheHits(), "Only the second login should be a cache hit");
+        assertFalse(cached.isRequiresOrgSelection());
+        assertEquals(org1.getId().toString(), cached.getAssociatedOrgs().getFirst().id());
+        assertTrue(afterChange.isRequiresOrgSelection(), "Membership change should invalidate the cached profile");
+        assertEquals(2, afterChange.getAvailableOrgs().size());
+        RequestContextHolder.clear();
+    }
+
+    @Test
+    @DisplayName("Login and membership check load the user with its organizations in one statement")
+    void testUserAndOrganizationsFetchedInOneStatement() throws Exception {
+        // Arrange
+        User existingUser = createUserWithOrganizations("user-006-graph", "dave@example.com", "Dave", "Green", Set.of(org1, org2));
+        RequestUserContext context = RequestUserContext.builder()
+                .subjectId(existingUser.getSubjectId())
+                .email(existingUser.getEmail())
+                .selectedOrgId(org2.getId().toString())
+                .build();
+        RequestContextHolder.set(context);
+        loginProfileCache.invalidateAll();
+        membershipCache.invalidateAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Act
+        statistics.clear();
+        boolean allowed = interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object());
+        long interceptorStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        LoginResponse response = userService.processUserLogin(new UserLoginRequest("Dave", "Green", List.of()));
+        long loginStatements = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertTrue(allowed);
+        assertEquals(1, interceptorStatements, "Membership check should be a single statement");
+        assertEquals(2, response.getAssociatedOrgs().size());
+        assertEquals(1, loginStatements, "Login cache miss should be a single statement");
+        RequestContextHolder.clear();
+    }
+
+    @Test
+    @DisplayName("Membership checks are answered from the cache until memberships change")
+    void testMembershipCheckUsesCache() throws Exception {
+        // Arrange
+        User existingUser = createUserWithOrganizations("user-007-member", "erin@example.com", "Erin", "Black", Set.of(org1));
+        RequestUserContext context = RequestUserContext.builder()
+                .subjectId(existingUser.getSubjectId())
+                .email(existingUser.getEmail())
+                .selectedOrgId(org1.getId().toString())
+                .build();
+        RequestContextHolder.set(context);
+        membershipCache.invalidateAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long timedHitsBefore = timedMembershipChecks("hit");
+
+        // Act
+        interceptor.preHandle(request, response, new Object());
+        // Every request starts with an unresolved identity
+        context.setIdentity(null);
+        statistics.clear();
+        boolean cachedAllowed = interceptor.preHandle(request, response, new Object());
+        long cachedStatements = statistics.getPrepareStatementCount();
+        existingUser.setOrganizations(Set.of(org2));
+        userRepository.save(existingUser);
+        context.setIdentity(null);
+
+        // Assert
+        assertTrue(cachedAllowed);
+        assertEquals(0, cachedStatements, "Cached membership check should not reach the database");
+        assertThrows(CredentialProcessingException.class, () -> interceptor.preHandle(request, response, new Object()),
+                "Membership change should invalidate the cached memberships");
+        assertEquals(timedHitsBefore + 1, timedMembershipChecks("hit"), "Only the second check should be timed as a hit");
+        RequestContextHolder.clear();
+    }
+
+    @Test
+    @DisplayName("Membership token from login passes the membership check without the database until revoked")
+    void testMembershipTokenSkipsDatabase() throws Exception {
+        // Arrange
+        User existingUser = createUserWithOrganizations("user-008-token", "frank@example.com", "Frank", "Blue", Set.of(org1));
+        RequestUserContext context = RequestUserContext.builder()
+                .subjectId(existingUser.getSubjectId())
+                .email(existingUser.getEmail())
+                .build();
+        RequestContextHolder.set(context);
+        String token = userService.processUserLogin(new UserLoginRequest("Frank", "Blue", List.of())).getMembershipToken();
+        membershipCache.invalidateAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(MembershipTokenService.HEADER, token);
+        context.setSelectedOrgId(org1.getId().toString());
+
+        // Act
+        statistics.clear();
+        MockHttpServletResponse withToken = new MockHttpServletResponse();
+        boolean allowed = interceptor.preHandle(request, withToken, new Object());
+        long tokenStatements = statistics.getPrepareStatementCount();
+        UUID tokenUserId = context.getIdentity().userId();
+        existingUser.setOrganizations(Set.of(org2));
+        userRepository.save(existingUser);
+        context.setIdentity(null);
+        MockHttpServletResponse afterChange = new MockHttpServletResponse();
+
+        // Assert
+        assertTrue(allowed);
+        assertEquals(0, tokenStatements, "A valid token should not reach the database");
+        assertEquals(existingUser.getId(), tokenUserId);
+        assertNull(withToken.getHeader(MembershipTokenService.HEADER), "A valid token is not reissued");
+        assertThrows(CredentialProcessingException.class, () -> interceptor.preHandle(request, afterChange, new Object()),
+                "Membership change should revoke the token");
+        RequestContextHolder.clear();
+    }
+
+    private long timedMembershipChecks(String cache) {
+        Timer timer = meterRegistry.find("credentials.membership.check").tag("cache", cache).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double profileCacheHits() {
+        return meterRegistry.get("cache.gets").tags("cache", "login.profiles", "result", "hit").functionCounter().count();
+    }
 }
@@ -0,0 +1,132 @@
+package com.credentials;
+
+import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.dto.CredentialPage;
+import com.credentials.dto.CredentialSummary;
+import com.credentials.entity.Organization;
+import com.credentials.entity.User;
+import com.credentials.filter.CustomHeaderAuthFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Virtual Thread Request IntegrationTests")
+class VirtualThreadRequestTest extends BaseIntegrationTest {
+
+    private static final int REQUESTS = 300;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private CustomHeaderAuthFilter authFilter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).addFilters(authFilter).build();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        super.cleanUp();
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Concurrent requests on virtual threads each see only their own user context")
+    void testConcurrentRequestsKeepTheirOwnContext() throws Exception {
+        List<User> users = List.of(
+                createUserWithOrganizations("virtual-1", "virtual-1@example.com", "Vir", "One", Set.of(org1)),
+                createUserWithOrganizations("virtual-2", "virtual-2@example.com", "Vir", "Two", Set.of(org2)),
+                createUserWithOrganizations("virtual-3", "virtual-3@example.com", "Vir", "Three", Set.of(org3)));
+        for (User user : users) {
+            perform(post("/api/v1/credentials").contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"" + user.getSubjectId() + "\",\"validityInDays\":30}"), user);
+        }
+
+        List<Callable<Boolean>> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            User user = users.get(i % users.size());
+            requests.add(() -> {
+                CredentialPage page = objectMapper.readValue(perform(get("/api/v1/credentials"), user), CredentialPage.class);
+                return page.items().stream().map(CredentialSummary::name).toList().equals(List.of(user.getSubjectId()))
+                        && RequestContextHolder.get() == null;
+            });
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Boolean> result : executor.invokeAll(requests)) {
+                assertEquals(true, result.get(), "Each request should list only its own organization's credentials");
+            }
+        }
+        assertNull(RequestContextHolder.get());
+    }
+
+    @Test
+    @DisplayName("POSITIVE: Concurrent membership misses for one subject share a single load")
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        createUserWithOrganizations("virtual-shared", "virtual-shared@example.com", "Vir", "Shared", Set.of(org1, org2));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<Set<?>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return membershipCache.get("virtual-shared").organizationIds();
+                }));
+            }
+            start.countDown();
+            for (Future<Set<?>> result : results) {
+                assertEquals(Set.of(org1.getId(), org2.getId()), result.get());
+            }
+        }
+        assertEquals(1, statistics.getPrepareStatementCount(), "Waiting misses should not query again");
+    }
+
+    private String perform(MockHttpServletRequestBuilder request, User user) throws Exception {
+        Organization organization = user.getOrganizations().iterator().next();
+        return mockMvc.perform(request
+                        .header("x-user-sub", user.getSubjectId())
+                        .header("x-user-email", user.getEmail())
+                        .header("x-org-id", organization.getId().toString()))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.credentials.benchmark;
+
+import com.credentials.security.EncryptionUtils;
+import com.credentials.util.CredentialGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the pooled {@link com.credentials.security.AesGcmCipherEngine} behind {@link EncryptionUtils}
+ * with the previous implementation, which looked up the cipher and built the key spec on every call.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.credentials.benchmark.EncryptionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptionBenchmark {
+
+    private static final byte[] KEY = "your-super-secure-32-byte-key-!!".getBytes();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private String secret;
+    private String encrypted;
+
+    @Setup
+    public void setUp() {
+        secret = CredentialGenerator.generateClientSecret();
+        encrypted = EncryptionUtils.encrypt(secret);
+    }
+
+    @Benchmark
+    public String encryptPooled() {
+        return EncryptionUtils.encrypt(secret);
+    }
+
+    @Benchmark
+    public String decryptPooled() {
+        return EncryptionUtils.decrypt(encrypted);
+    }
+
+    @Benchmark
+    public String encryptPerCall() throws GeneralSecurityException {
+        byte[] iv = new byte[12];
+        RANDOM.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY, "AES"), new GCMParameterSpec(128, iv));
+        byte[] cipherText = cipher.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+        byte[] combined = new byte[iv.length + cipherText.length];
+        System.arraycopy(iv, 0, combined, 0, iv.length);
+        System.arraycopy(cipherText, 0, combined, iv.length, cipherText.length);
+        return Base64.getEncoder().encodeToString(combined);
+    }
+
+    @Benchmark
+    public String decryptPerCall() throws GeneralSecurityException {
+        byte[] decoded = Base64.getDecoder().decode(encrypted);
+        byte[] iv = new byte[12];
+        System.arraycopy(decoded, 0, iv, 0, iv.length);
+        byte[] cipherText = new byte[decoded.length - 12];
+        System.arraycopy(decoded, 12, cipherText, 0, cipherText.length);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(KEY, "AES"), new GCMParameterSpec(128, iv));
+        return new String(cipher.doFinal(cipherText), StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 32}) {
+            Options options = new OptionsBuilder()
+                    .include(EncryptionBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
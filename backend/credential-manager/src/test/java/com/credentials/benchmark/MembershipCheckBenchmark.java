@@ -0,0 +1,172 @@
+package com.credentials.benchmark;
+
+import com.credentials.bootstrap.RequestContextHolder;
+import com.credentials.bootstrap.RequestIdentityResolver;
+import com.credentials.dto.RequestUserContext;
+import com.credentials.entity.Organization;
+import com.credentials.entity.User;
+import com.credentials.interceptor.OrganizationValidationInterceptor;
+import com.credentials.repo.UserRepository;
+import com.credentials.security.MembershipTokenService;
+import com.credentials.service.impl.MembershipCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency of the organization membership check in {@link OrganizationValidationInterceptor}: with a
+ * membership token, without one but answered by the membership cache, and the single join statement
+ * the check runs on a cache miss. The last one needs a disposable PostgreSQL database, given with
+ * {@code -Dbench.jdbc-url}, {@code -Dbench.user} and {@code -Dbench.password}.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.credentials.benchmark.MembershipCheckBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MembershipCheckBenchmark {
+
+    private static final String SUBJECT = "bench-subject";
+
+    @State(Scope.Thread)
+    public static class Interceptor {
+
+        OrganizationValidationInterceptor interceptor;
+        RequestUserContext context;
+        MockHttpServletRequest withToken;
+        MockHttpServletRequest withoutToken;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setSubjectId(SUBJECT);
+            user.setEmail("bench@example.com");
+            Set<Organization> organizations = new HashSet<>();
+            for (int i = 0; i < 3; i++) {
+                Organization organization = new Organization();
+                organization.setId(UUID.randomUUID());
+                organizations.add(organization);
+            }
+            user.setOrganizations(organizations);
+            UserRepository userRepo = mock(UserRepository.class);
+            when(userRepo.findWithOrganizationsBySubjectId(SUBJECT)).thenReturn(Optional.of(user));
+
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            MembershipCache membershipCache = new MembershipCache(userRepo, meterRegistry, 1000, Duration.ofMinutes(5));
+            MembershipTokenService tokenService = new MembershipTokenService("bench-membership-token-key-0123456789", Duration.ofMinutes(5), Duration.ZERO);
+            interceptor = new OrganizationValidationInterceptor(membershipCache,
+                    new RequestIdentityResolver(membershipCache, tokenService), tokenService, meterRegistry);
+
+            UUID selectedOrg = organizations.iterator().next().getId();
+            context = RequestUserContext.builder().subjectId(SUBJECT).selectedOrgId(selectedOrg.toString()).build();
+            RequestContextHolder.set(context);
+            withToken = new MockHttpServletRequest();
+            withToken.addHeader(MembershipTokenService.HEADER, tokenService.issue(SUBJECT, user.getId(), user.getEmail(),
+                    organizations.stream().map(Organization::getId).toList()));
+            withoutToken = new MockHttpServletRequest();
+            response = new MockHttpServletResponse();
+            membershipCache.get(SUBJECT);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Database {
+
+        Connection connection;
+        PreparedStatement membershipQuery;
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            connection = DriverManager.getConnection(
+                    System.getProperty("bench.jdbc-url", "jdbc:postgresql://localhost:5432/postgres"),
+                    System.getProperty("bench.user", "postgres"), System.getProperty("bench.password", "postgres"));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS bench_user_organization, bench_users");
+                statement.execute("CREATE TABLE bench_users (id uuid PRIMARY KEY, subject_id varchar(255) UNIQUE, " +
+                        "email varchar(255))");
+                statement.execute("CREATE TABLE bench_user_organization (user_id uuid, organization_id uuid, " +
+                        "PRIMARY KEY (user_id, organization_id))");
+                UUID userId = UUID.randomUUID();
+                statement.execute("INSERT INTO bench_users VALUES ('" + userId + "', '" + SUBJECT + "', 'bench@example.com')");
+                for (int i = 0; i < 3; i++) {
+                    statement.execute("INSERT INTO bench_user_organization VALUES ('" + userId + "', '" + UUID.randomUUID() + "')");
+                }
+            }
+            // Same shape as the User.organizations entity graph load
+            membershipQuery = connection.prepareStatement("SELECT u.id, u.email, uo.organization_id FROM bench_users u " +
+                    "LEFT JOIN bench_user_organization uo ON uo.user_id = u.id WHERE u.subject_id = ?");
+            membershipQuery.setString(1, SUBJECT);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS bench_user_organization, bench_users");
+            }
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public boolean withToken(Interceptor state) {
+        state.context.setIdentity(null);
+        return state.interceptor.preHandle(state.withToken, state.response, state);
+    }
+
+    @Benchmark
+    public boolean withoutTokenCached(Interceptor state) {
+        state.context.setIdentity(null);
+        return state.interceptor.preHandle(state.withoutToken, state.response, state);
+    }
+
+    @Benchmark
+    public int withoutTokenUncached(Database state) throws SQLException {
+        int organizations = 0;
+        try (ResultSet rows = state.membershipQuery.executeQuery()) {
+            while (rows.next()) {
+                organizations++;
+            }
+        }
+        return organizations;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MembershipCheckBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,197 @@
+package com.credentials.benchmark;
+
+import com.credentials.dto.OrganizationDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Closed-loop load against a running instance: at each concurrency level, that many clients list
+ * credentials back to back for a fixed time. Reports throughput, latency percentiles and errors,
+ * with the server's peak heap use and live thread count from its metrics endpoint.
+ * <p>
+ * Start the server twice with the same heap, once with {@code VIRTUAL_THREADS_ENABLED=true}, and
+ * compare how far concurrency goes before latency is all queueing or requests fail, e.g.
+ * {@code java -Xmx256m -jar credential-manager.jar}.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.credentials.benchmark.RequestConcurrencyLoadTest \
+ *     -Dexec.args="http://localhost:8080/credential-manager 50,200,1000,4000 15"
+ */
+public class RequestConcurrencyLoadTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int CREDENTIALS = 20;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String subject = "load-" + UUID.randomUUID();
+    private String organizationId;
+
+    private RequestConcurrencyLoadTest(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080/credential-manager";
+        int[] levels = Arrays.stream((args.length > 1 ? args[1] : "50,200,1000,4000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 15);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clients)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            RequestConcurrencyLoadTest loadTest = new RequestConcurrencyLoadTest(client, baseUrl);
+            loadTest.prepare();
+            System.out.printf("%11s %10s %9s %9s %9s %7s %13s %12s%n",
+                    "concurrency", "req/s", "p50 ms", "p99 ms", "max ms", "errors", "peak heap MB", "peak threads");
+            for (int level : levels) {
+                loadTest.run(clients, level, duration);
+            }
+        }
+    }
+
+    // A user in the first organization of the catalog, owning a page of credentials
+    private void prepare() throws IOException, InterruptedException {
+        List<OrganizationDto> organizations = Arrays.asList(OBJECT_MAPPER.readValue(
+                send(request("/api/v1/organizations").GET()).body(), OrganizationDto[].class));
+        if (organizations.isEmpty()) {
+            throw new IllegalStateException("The server has no organizations, start it with the data initializer enabled");
+        }
+        organizationId = organizations.get(0).id();
+        send(request("/api/v1/users/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"firstName\":\"Load\",\"lastName\":\"Test\"," +
+                        "\"selectedOrgIds\":[\"" + organizationId + "\"]}")));
+        for (int i = 0; i < CREDENTIALS; i++) {
+            send(request("/api/v1/credentials")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"load-" + i + "\",\"validityInDays\":30}")));
+        }
+    }
+
+    private void run(ExecutorService clients, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(clients.submit(() -> {
+                LatencyLog latencies = new LatencyLog();
+                HttpRequest list = request("/api/v1/credentials?size=" + CREDENTIALS).GET().build();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        int status = client.send(list, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status != 200) {
+                            errors.incrementAndGet();
+                            firstError.compareAndSet(null, "HTTP " + status);
+                            continue;
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                        firstError.compareAndSet(null, e.toString());
+                        continue;
+                    }
+                    latencies.add(System.nanoTime() - start);
+                }
+                return latencies.toArray();
+            }));
+        }
+
+        long peakHeap = 0;
+        long peakThreads = 0;
+        while (System.nanoTime() < deadline) {
+            peakHeap = Math.max(peakHeap, metric("jvm.memory.used?tag=area:heap"));
+            peakThreads = Math.max(peakThreads, metric("jvm.threads.live"));
+            Thread.sleep(500);
+        }
+
+        List<long[]> perWorker = new ArrayList<>(concurrency);
+        for (Future<long[]> worker : workers) {
+            perWorker.add(worker.get());
+        }
+        long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%11d %10.0f %9.1f %9.1f %9.1f %7d %13d %12d%n", concurrency,
+                all.length / (double) duration.toSeconds(), percentile(all, 0.50), percentile(all, 0.99),
+                percentile(all, 1.0), errors.get(), peakHeap >> 20, peakThreads);
+        if (firstError.get() != null) {
+            System.out.println("  first error: " + firstError.get());
+        }
+    }
+
+    private long metric(String name) {
+        try {
+            JsonNode measurements = OBJECT_MAPPER.readTree(send(request("/actuator/metrics/" + name).GET()).body())
+                    .path("measurements");
+            return measurements.isEmpty() ? 0 : measurements.get(0).path("value").asLong();
+        } catch (IOException | IllegalStateException e) {
+            // An overloaded server may not answer in time, the level's other samples still count
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("x-user-sub", subject)
+                .header("x-user-email", subject + "@example.com");
+        return organizationId == null ? request : request.header("x-org-id", organizationId);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(response.uri() + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static final class LatencyLog {
+
+        private long[] nanos = new long[1024];
+        private int size;
+
+        void add(long latency) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(nanos, size);
+        }
+    }
+}
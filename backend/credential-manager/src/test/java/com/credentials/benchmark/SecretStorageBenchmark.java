@@ -0,0 +1,67 @@
+package com.credentials.benchmark;
+
+import com.credentials.security.EncryptedSecret;
+import com.credentials.security.EncryptionUtils;
+import com.credentials.util.CredentialGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a secret stored as Base64 text with reading the same secret stored as bytea.
+ * {@code main} also prints the stored size of each representation.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.credentials.benchmark.SecretStorageBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecretStorageBenchmark {
+
+    private String base64Column;
+    private byte[] byteaColumn;
+
+    @Setup
+    public void setUp() {
+        String secret = CredentialGenerator.generateClientSecret();
+        base64Column = EncryptionUtils.encrypt(secret);
+        byteaColumn = EncryptedSecret.encrypt(secret).toBytes();
+    }
+
+    @Benchmark
+    public String readBase64Text() {
+        return EncryptionUtils.decrypt(base64Column);
+    }
+
+    @Benchmark
+    public String readBytea() {
+        return EncryptedSecret.fromBytes(byteaColumn).decrypt();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String secret = CredentialGenerator.generateClientSecret();
+        int textBytes = EncryptionUtils.encrypt(secret).getBytes(StandardCharsets.US_ASCII).length;
+        int binaryBytes = EncryptedSecret.encrypt(secret).length();
+        // PostgreSQL adds a 1-byte varlena header to both short text and short bytea values
+        System.out.printf("Stored secret size: text=%d bytes, bytea=%d bytes (%.1f%% smaller)%n",
+                textBytes + 1, binaryBytes + 1, 100.0 * (textBytes - binaryBytes) / (textBytes + 1));
+        new Runner(new OptionsBuilder().include(SecretStorageBenchmark.class.getSimpleName()).build()).run();
+    }
+}
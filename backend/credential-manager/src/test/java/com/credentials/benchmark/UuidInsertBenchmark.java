@@ -0,0 +1,81 @@
+package com.credentials.benchmark;
+
+import com.credentials.util.UuidV7;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Inserts the same number of credential-shaped rows keyed by random v4 and by time-ordered v7
+ * UUIDs, then reports insert throughput and primary key index size for each.
+ * The connection must point at a disposable PostgreSQL database.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.credentials.benchmark.UuidInsertBenchmark \
+ *     -Dexec.args="jdbc:postgresql://localhost:5432/bench postgres postgres 10000000"
+ */
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    public static void main(String[] args) throws SQLException {
+        String url = args.length > 0 ? args[0] : "jdbc:postgresql://localhost:5432/postgres";
+        String user = args.length > 1 ? args[1] : "postgres";
+        String password = args.length > 2 ? args[2] : "postgres";
+        long rows = args.length > 3 ? Long.parseLong(args[3]) : 10_000_000L;
+
+        Properties properties = new Properties();
+        properties.setProperty("user", user);
+        properties.setProperty("password", password);
+        properties.setProperty("reWriteBatchedInserts", "true");
+
+        try (Connection connection = DriverManager.getConnection(url, properties)) {
+            connection.setAutoCommit(false);
+            run(connection, "bench_uuid_v4", UUID::randomUUID, rows);
+            run(connection, "bench_uuid_v7", UuidV7::randomUuid, rows);
+        }
+    }
+
+    private static void run(Connection connection, String table, Supplier<UUID> ids, long rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, organization_id uuid NOT NULL, " +
+                    "client_id varchar(255) NOT NULL UNIQUE)");
+            statement.execute("CREATE INDEX " + table + "_org_idx ON " + table + " (organization_id, id)");
+        }
+        connection.commit();
+
+        UUID organizationId = UUID.randomUUID();
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, organization_id, client_id) VALUES (?, ?, ?)")) {
+            for (long i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setObject(2, organizationId);
+                insert.setString(3, ids.get().toString());
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        try (Statement statement = connection.createStatement();
+             ResultSet sizes = statement.executeQuery(
+                     "SELECT pg_size_pretty(pg_relation_size('" + table + "_pkey')), " +
+                             "pg_size_pretty(pg_relation_size('" + table + "_org_idx'))")) {
+            sizes.next();
+            System.out.printf("%s: %d rows in %.1f s (%.0f rows/s), pkey index %s, org index %s%n",
+                    table, rows, seconds, rows / seconds, sizes.getString(1), sizes.getString(2));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.credentials.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestAdmissionFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestAdmissionFilter filter = new RequestAdmissionFilter(meterRegistry, 1, Duration.ofMillis(100));
+
+    @Test
+    void testRequestBeyondLimitIsRejectedAfterTimeout() throws Exception {
+        CountDownLatch inProgress = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> first = executor.submit(() -> perform(() -> {
+                inProgress.countDown();
+                release.await();
+            }));
+            inProgress.await();
+
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/credentials"), rejected, new MockFilterChain());
+            release.countDown();
+
+            assertEquals(503, rejected.getStatus());
+            assertEquals("1", rejected.getHeader("Retry-After"));
+            assertEquals(200, first.get());
+        }
+        assertEquals(1, meterRegistry.counter("credentials.requests.rejected").count());
+    }
+
+    @Test
+    void testSlotIsReleasedWhenRequestFails() throws Exception {
+        try {
+            perform(() -> {
+                throw new IllegalStateException("handler failed");
+            });
+        } catch (IllegalStateException expected) {
+            // The failure itself is the handler's business
+        }
+
+        assertEquals(200, perform(() -> { }));
+    }
+
+    private int perform(Handler handler) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/credentials"), response, (request, ignored) -> {
+            try {
+                handler.handle();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return response.getStatus();
+    }
+
+    private interface Handler {
+
+        void handle() throws InterruptedException;
+    }
+}
@@ -0,0 +1,170 @@
+package com.credentials.scheduler;
+
+import com.credentials.dto.ExpiryNotification;
+import com.credentials.repo.CredentialRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExpiryNotificationSchedulerTest {
+
+    private static final Duration LEAD = Duration.ofDays(7);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private final InMemoryExpiryNotificationSink sink = new InMemoryExpiryNotificationSink();
+    private final CredentialRepository credentialRepo = mock(CredentialRepository.class);
+    private ExpiryNotificationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ExpiryNotificationScheduler(credentialRepo, sink, new SimpleMeterRegistry(), clock,
+                LEAD, Duration.ofDays(1), Duration.ofSeconds(1), Duration.ofMinutes(1), 2);
+        when(credentialRepo.claimExpiryNotification(any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void testLoadedNotificationIsDeliveredLeadTimeBeforeExpiry() {
+        ExpiryNotification first = notification(LEAD.plusHours(2));
+        ExpiryNotification second = notification(LEAD.plusHours(3));
+        ExpiryNotification third = notification(LEAD.plusHours(5));
+        when(credentialRepo.findExpiringBetween(any(), any(), any(), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        scheduler.loadWindow();
+        assertEquals(3, scheduler.pendingCount());
+
+        clock.advance(Duration.ofHours(2).minusSeconds(1));
+        scheduler.tick();
+        assertTrue(sink.delivered().isEmpty());
+
+        clock.advance(Duration.ofHours(1).plusSeconds(1));
+        scheduler.tick();
+        assertEquals(List.of(first, second), sink.delivered());
+        assertEquals(1, scheduler.pendingCount());
+    }
+
+    @Test
+    void testCancelAndOutOfWindowSchedules() {
+        ExpiryNotification deleted = notification(LEAD.plusHours(1));
+        ExpiryNotification beyondWindow = notification(LEAD.plusDays(3));
+        ExpiryNotification alreadyDue = notification(LEAD.minusHours(1));
+        when(credentialRepo.findExpiringBetween(any(), any(), any(), any())).thenReturn(List.of());
+        scheduler.loadWindow();
+
+        scheduler.schedule(deleted);
+        scheduler.schedule(beyondWindow);
+        scheduler.schedule(alreadyDue);
+        assertTrue(scheduler.isPending(deleted.credentialId()));
+        assertFalse(scheduler.isPending(beyondWindow.credentialId()), "Left for a later window load");
+        assertFalse(scheduler.isPending(alreadyDue.credentialId()));
+
+        scheduler.cancel(deleted.credentialId());
+        clock.advance(Duration.ofHours(2));
+        scheduler.tick();
+        assertTrue(sink.delivered().isEmpty());
+    }
+
+    @Test
+    void testRescheduleMovesPendingNotification() {
+        ExpiryNotification extended = notification(LEAD.plusHours(1));
+        when(credentialRepo.findExpiringBetween(any(), any(), any(), any())).thenReturn(List.of(extended));
+        scheduler.loadWindow();
+
+        OffsetDateTime newExpiry = extended.expiryDate().plusHours(4);
+        scheduler.reschedule(extended.credentialId(), newExpiry);
+        clock.advance(Duration.ofHours(2));
+        scheduler.tick();
+        assertTrue(sink.delivered().isEmpty());
+
+        clock.advance(Duration.ofHours(3));
+        scheduler.tick();
+        assertEquals(List.of(extended.withExpiryDate(newExpiry)), sink.delivered());
+    }
+
+    @Test
+    void testNotificationClaimedByAnotherNodeIsNotDelivered() {
+        ExpiryNotification claimedElsewhere = notification(LEAD.plusHours(1));
+        ExpiryNotification claimedHere = notification(LEAD.plusHours(1));
+        when(credentialRepo.findExpiringBetween(any(), any(), any(), any()))
+                .thenReturn(List.of(claimedElsewhere, claimedHere))
+                .thenReturn(List.of());
+        when(credentialRepo.claimExpiryNotification(eq(claimedElsewhere.credentialId()), any())).thenReturn(0);
+        scheduler.loadWindow();
+
+        clock.advance(Duration.ofHours(2));
+        scheduler.tick();
+        assertEquals(List.of(claimedHere), sink.delivered());
+    }
+
+    @Test
+    void testFailedDeliveryReleasesClaimAndRetries() {
+        ExpiryNotification notification = notification(LEAD.plusHours(1));
+        when(credentialRepo.findExpiringBetween(any(), any(), any(), any()))
+                .thenReturn(List.of(notification))
+                .thenReturn(List.of());
+        scheduler.loadWindow();
+        sink.failNext(1);
+
+        clock.advance(Duration.ofHours(1));
+        OffsetDateTime claimedAt = OffsetDateTime.now(clock);
+        scheduler.tick();
+        assertTrue(sink.delivered().isEmpty());
+        verify(credentialRepo).releaseExpiryNotification(notification.credentialId(), claimedAt);
+        assertTrue(scheduler.isPending(notification.credentialId()));
+
+        clock.advance(Duration.ofMinutes(1));
+        scheduler.tick();
+        assertEquals(List.of(notification), sink.delivered());
+        assertFalse(scheduler.isPending(notification.credentialId()));
+    }
+
+    private ExpiryNotification notification(Duration expiresIn) {
+        return new ExpiryNotification(UUID.randomUUID(), UUID.randomUUID().toString(), "key", UUID.randomUUID(),
+                "owner@example.com", OffsetDateTime.ofInstant(clock.instant().plus(expiresIn), ZoneOffset.UTC));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
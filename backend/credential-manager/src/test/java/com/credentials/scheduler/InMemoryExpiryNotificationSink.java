@@ -0,0 +1,29 @@
+package com.credentials.scheduler;
+
+import com.credentials.dto.ExpiryNotification;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class InMemoryExpiryNotificationSink implements ExpiryNotificationSink {
+
+    private final List<ExpiryNotification> delivered = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Override
+    public void deliver(ExpiryNotification notification) {
+        if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            throw new IllegalStateException("Sink unavailable");
+        }
+        delivered.add(notification);
+    }
+
+    void failNext(int count) {
+        failures.set(count);
+    }
+
+    List<ExpiryNotification> delivered() {
+        return delivered;
+    }
+}
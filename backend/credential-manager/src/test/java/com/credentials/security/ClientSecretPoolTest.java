@@ -0,0 +1,59 @@
+package com.credentials.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientSecretPoolTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ClientSecretPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ClientSecretPool(4, registry);
+        pool.startRefill();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.stopRefill();
+    }
+
+    @Test
+    void testPoolFillsUpToCapacityAndHandsOutDistinctSecrets() throws InterruptedException {
+        waitForDepth(4);
+        assertEquals(4.0, registry.get("credentials.secret.pool.depth").gauge().value());
+
+        Set<String> secrets = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            secrets.add(pool.take());
+        }
+        assertEquals(20, secrets.size());
+        assertTrue(registry.get("credentials.secret.pool.refills").counter().count() >= 4);
+    }
+
+    @Test
+    void testTakeGeneratesInlineWhenPoolIsEmpty() {
+        pool.stopRefill();
+        ClientSecretPool empty = new ClientSecretPool(1, registry);
+
+        String secret = empty.take();
+
+        assertEquals(43, secret.length(), "32 random bytes encode to 43 url-safe characters");
+        assertEquals(1.0, registry.get("credentials.secret.pool.misses").counter().count());
+    }
+
+    private void waitForDepth(int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && pool.depth() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, pool.depth());
+    }
+}
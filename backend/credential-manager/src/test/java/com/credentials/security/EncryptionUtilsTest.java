@@ -1,6 +1,10 @@
 package com.credentials.security;
 
 import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class EncryptionUtilsTest {
@@ -23,4 +27,20 @@ class EncryptionUtilsTest {
 
         assertThrows(Exception.class, () -> EncryptionUtils.decrypt(invalidEncrypted));
     }
+
+    @Test
+    void testEngineReusesCiphersAndRejectsTamperedData() {
+        AesGcmCipherEngine engine = new AesGcmCipherEngine(new byte[32], new SecureRandom(), 2);
+        byte[] plain = "SensitiveData123!".getBytes(StandardCharsets.UTF_8);
+
+        byte[] first = engine.encrypt(plain);
+        byte[] second = engine.encrypt(plain);
+        assertFalse(java.util.Arrays.equals(first, second), "Each encryption should use a fresh IV");
+        assertArrayEquals(plain, engine.decrypt(first));
+        assertEquals(1, engine.pooledCount());
+
+        first[first.length - 1] ^= 1;
+        assertThrows(Exception.class, () -> engine.decrypt(first));
+        assertArrayEquals(plain, engine.decrypt(second), "Pooled cipher should still work after a failed decrypt");
+    }
 }
@@ -0,0 +1,128 @@
+package com.credentials.security;
+
+import com.credentials.event.CachesStaleEvent;
+import com.credentials.event.MembershipChangedEvent;
+import com.credentials.service.impl.MembershipCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MembershipTokenServiceTest {
+
+    private static final String SUBJECT = "token-subject";
+    private static final Duration SKEW = Duration.ofSeconds(2);
+    private static final String KEY = "test-membership-token-key-0123456789";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private final UUID userId = UUID.randomUUID();
+    private final List<UUID> orgIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+    private MembershipTokenService tokens;
+
+    @BeforeEach
+    void setUp() {
+        tokens = new MembershipTokenService(KEY, Duration.ofMinutes(5), SKEW, clock);
+        // Tokens issued within the skew after startup are rejected, as changes before it are unknown
+        clock.advance(SKEW);
+    }
+
+    @Test
+    void testIssuedTokenCarriesMemberships() {
+        Optional<MembershipCache.Membership> membership = tokens.verify(issue(), SUBJECT);
+
+        assertTrue(membership.isPresent());
+        assertEquals(userId, membership.get().userId());
+        assertEquals("owner@example.com", membership.get().email());
+        assertEquals(Set.copyOf(orgIds), membership.get().organizationIds());
+    }
+
+    @Test
+    void testMissingOrShortKeyFailsStartup() {
+        assertThrows(IllegalStateException.class,
+                () -> new MembershipTokenService("", Duration.ofMinutes(5), SKEW, clock));
+        assertThrows(IllegalStateException.class,
+                () -> new MembershipTokenService("change-me", Duration.ofMinutes(5), SKEW, clock));
+    }
+
+    @Test
+    void testTamperedForeignOrExpiredTokensAreRejected() {
+        String token = issue();
+        String otherKey = new MembershipTokenService(KEY + "-other", Duration.ofMinutes(5), SKEW, clock)
+                .issue(SUBJECT, userId, "owner@example.com", orgIds);
+        int changed = token.indexOf('.') - 5;
+        String forged = token.substring(0, changed) + (token.charAt(changed) == 'A' ? 'B' : 'A') + token.substring(changed + 1);
+
+        assertTrue(tokens.verify(forged, SUBJECT).isEmpty(), "Changed payload");
+        assertTrue(tokens.verify(otherKey, SUBJECT).isEmpty(), "Signed with another key");
+        assertTrue(tokens.verify(token, "someone-else").isEmpty(), "Issued to another subject");
+        assertTrue(tokens.verify("not-a-token", SUBJECT).isEmpty(), "Garbled");
+        clock.advance(Duration.ofMinutes(5));
+        assertTrue(tokens.verify(token, SUBJECT).isEmpty(), "Expired");
+    }
+
+    @Test
+    void testMembershipChangeRevokesEarlierTokensOfThatSubject() {
+        String token = issue();
+        String otherSubject = tokens.issue("other-subject", userId, null, orgIds);
+
+        tokens.onMembershipChanged(new MembershipChangedEvent(SUBJECT));
+
+        assertTrue(tokens.verify(token, SUBJECT).isEmpty());
+        assertTrue(tokens.verify(otherSubject, "other-subject").isPresent());
+        clock.advance(SKEW);
+        assertTrue(tokens.verify(issue(), SUBJECT).isPresent(), "Tokens issued after the change are valid");
+    }
+
+    @Test
+    void testStaleCachesRevokeAllEarlierTokens() {
+        String token = issue();
+
+        tokens.onCachesStale(new CachesStaleEvent());
+
+        assertTrue(tokens.verify(token, SUBJECT).isEmpty());
+        clock.advance(SKEW);
+        assertTrue(tokens.verify(issue(), SUBJECT).isPresent());
+    }
+
+    private String issue() {
+        return tokens.issue(SUBJECT, userId, "owner@example.com", orgIds);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
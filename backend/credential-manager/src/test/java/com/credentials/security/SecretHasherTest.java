@@ -0,0 +1,24 @@
+package com.credentials.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretHasherTest {
+
+    private static final String KEY = "test-verification-key-0123456789abcdef";
+
+    @Test
+    void testMissingOrShortKeyFailsStartup() {
+        assertThrows(IllegalStateException.class, () -> new SecretHasher(""));
+        assertThrows(IllegalStateException.class, () -> new SecretHasher("change-me"));
+    }
+
+    @Test
+    void testHashDependsOnKey() {
+        SecretHasher hasher = new SecretHasher(KEY);
+
+        assertTrue(hasher.matches("secret", hasher.hash("secret")));
+        assertFalse(hasher.matches("secret", new SecretHasher(KEY + "-other").hash("secret")));
+    }
+}
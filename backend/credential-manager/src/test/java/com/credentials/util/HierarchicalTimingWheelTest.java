@@ -0,0 +1,56 @@
+package com.credentials.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void testEntriesFireAtTheirTickAcrossLevels() {
+        // 4 buckets per level, 3 levels: level 0 covers 4 ticks, level 2 up to 64
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(0, 10, 4, 3);
+        long[] deadlines = {30, 10, 170, 55, 630, 400, 1000};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= 1000; now += 10) {
+            for (Long deadline : wheel.advance(now)) {
+                assertTrue(deadline <= now && deadline > now - 10, "Fired at " + now + " for deadline " + deadline);
+                fired.add(deadline);
+            }
+        }
+
+        assertEquals(List.of(10L, 30L, 55L, 170L, 400L, 630L, 1000L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCancelledEntryNeverFires() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(0, 10, 4, 3);
+        HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 200);
+        wheel.schedule("kept", 200);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel(), "A second cancel is a no-op");
+
+        assertEquals(List.of("kept"), wheel.advance(300));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testDeadlinesBeyondTopLevelAndInThePast() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 10, 4, 2);
+        wheel.schedule("far", 1_000 + 10 * 100);
+        wheel.schedule("overdue", 500);
+
+        assertEquals(List.of("overdue"), wheel.advance(1_010));
+        assertTrue(wheel.advance(1_990).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(2_000));
+    }
+}
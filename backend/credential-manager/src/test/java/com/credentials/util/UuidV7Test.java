@@ -0,0 +1,29 @@
+package com.credentials.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void testVersionVariantAndTimestamp() {
+        long now = System.currentTimeMillis();
+        UUID uuid = UuidV7.fromTimestamp(now);
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(now, uuid.getMostSignificantBits() >>> 16, "Top 48 bits hold the Unix millisecond timestamp");
+    }
+
+    @Test
+    void testLaterTimestampsSortAfterEarlierOnes() {
+        UUID earlier = UuidV7.fromTimestamp(1_700_000_000_000L);
+        UUID later = UuidV7.fromTimestamp(1_700_000_000_001L);
+
+        // PostgreSQL compares uuid values as unsigned bytes, which matches the string order
+        assertTrue(earlier.toString().compareTo(later.toString()) < 0);
+    }
+}